@@ -3,14 +3,17 @@ package com.eduplatform;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 /**
  * Main Spring Boot Application Class
  * Enables MongoDB auditing for automatic createdDate and lastModifiedDate
+ * and scheduling for background maintenance tasks
  */
 @SpringBootApplication
 @EnableMongoAuditing
+@EnableScheduling
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class StudentLearningPlatformApplication {
 
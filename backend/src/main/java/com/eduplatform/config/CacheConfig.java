@@ -0,0 +1,54 @@
+package com.eduplatform.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache Configuration for the published course catalog
+ * Caffeine caches use W-TinyLFU admission, so one-off lookups do not push hot
+ * courses and listing pages out. CatalogVersions evicts entries on every course change;
+ * the TTL only bounds staleness from changes made outside the application.
+ * Hit, miss and eviction counts are published under the cache.* actuator metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String COURSE_LISTINGS = "courseListings";
+
+    @Value("${cache.courses.max-size:10000}")
+    private long coursesMaxSize;
+
+    @Value("${cache.course-listings.max-size:1000}")
+    private long listingsMaxSize;
+
+    @Value("${cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(COURSES, Caffeine.newBuilder()
+                .maximumSize(coursesMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COURSE_LISTINGS, Caffeine.newBuilder()
+                .maximumSize(listingsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build());
+        // Only the caches above exist
+        cacheManager.setCacheNames(List.of());
+        return cacheManager;
+    }
+}
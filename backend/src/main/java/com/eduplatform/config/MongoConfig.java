@@ -27,6 +27,16 @@ public class MongoConfig {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    // Pool limits; with virtual threads the pool, not the servlet thread count, bounds concurrency
+    @Value("${mongo.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${mongo.pool.min-size:10}")
+    private int poolMinSize;
+
+    @Value("${mongo.pool.max-wait-ms:5000}")
+    private long poolMaxWaitMs;
+
     @Bean
     public MongoClient mongoClient() {
         ConnectionString connectionString = new ConnectionString(mongoUri);
@@ -34,9 +44,9 @@ public class MongoConfig {
         MongoClientSettings settings = MongoClientSettings.builder()
                 .applyConnectionString(connectionString)
                 .applyToConnectionPoolSettings(builder -> 
-                    builder.maxSize(100)  // Increased for 200+ concurrent sessions
-                           .minSize(10)
-                           .maxWaitTime(5, TimeUnit.SECONDS)
+                    builder.maxSize(poolMaxSize)
+                           .minSize(poolMinSize)
+                           .maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS)
                            .maxConnectionIdleTime(60, TimeUnit.SECONDS)
                            .maxConnectionLifeTime(300, TimeUnit.SECONDS))
                 .applyToSocketSettings(builder -> 
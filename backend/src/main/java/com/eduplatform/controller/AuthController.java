@@ -2,16 +2,27 @@ package com.eduplatform.controller;
 
 import com.eduplatform.model.User;
 import com.eduplatform.model.UserRole;
+import com.eduplatform.service.PasswordHashingService;
 import com.eduplatform.service.UserService;
 import com.eduplatform.security.JwtUtil;
+import com.eduplatform.security.LoginThrottle;
+import com.eduplatform.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Authentication Controller
@@ -28,11 +39,22 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Value("${auth.password-hashing.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
     /**
      * User registration endpoint
+     * Password hashing runs on the bounded hashing executor, not the request thread;
+     * the token is issued on the hashing continuation executor
      */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
         try {
             User user = new User();
             user.setName(request.getName());
@@ -40,57 +62,63 @@ public class AuthController {
             user.setPassword(request.getPassword());
             user.setRole(UserRole.valueOf(request.getRole().toUpperCase()));
 
-            User savedUser = userService.createUser(user);
+            return userService.createUser(user).<ResponseEntity<?>>thenApplyAsync(savedUser -> {
+                // Generate JWT token
+                String token = jwtUtil.generateToken(savedUser);
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(savedUser.getEmail());
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "User registered successfully");
+                response.put("user", createUserResponse(savedUser));
+                response.put("token", token);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "User registered successfully");
-            response.put("user", createUserResponse(savedUser));
-            response.put("token", token);
-
-            return ResponseEntity.ok(response);
+                return ResponseEntity.ok(response);
+            }, passwordHashingService.continuationExecutor()).exceptionally(e -> registrationFailure(unwrap(e)));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return CompletableFuture.completedFuture(registrationFailure(e));
         }
     }
 
     /**
      * User login endpoint
+     * Password verification runs on the bounded hashing executor, not the request thread;
+     * the token is issued on the hashing continuation executor
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request,
+                                                      HttpServletRequest httpRequest) {
+        // Throttle per email and client IP before spending any BCrypt work
+        long retryAfter = loginThrottle.tryAcquire(request.getEmail(), httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(tooManyAttempts(retryAfter));
+        }
+
         try {
             Optional<User> userOpt = userService.findByEmail(request.getEmail());
             if (!userOpt.isPresent()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Invalid email or password");
-                return ResponseEntity.badRequest().body(error);
+                return CompletableFuture.completedFuture(invalidCredentials());
             }
 
             User user = userOpt.get();
-            if (!userService.validatePassword(request.getPassword(), user.getPassword())) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Invalid email or password");
-                return ResponseEntity.badRequest().body(error);
-            }
+            return userService.validatePassword(request.getPassword(), user.getPassword())
+                    .<ResponseEntity<?>>thenApplyAsync(valid -> {
+                        if (!valid) {
+                            return invalidCredentials();
+                        }
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getEmail());
+                        userService.upgradePasswordHashIfNeeded(user, request.getPassword());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("user", createUserResponse(user));
-            response.put("token", token);
+                        // Generate JWT token
+                        String token = jwtUtil.generateToken(user);
 
-            return ResponseEntity.ok(response);
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("message", "Login successful");
+                        response.put("user", createUserResponse(user));
+                        response.put("token", token);
+
+                        return ResponseEntity.ok(response);
+                    }, passwordHashingService.continuationExecutor()).exceptionally(e -> loginFailure(unwrap(e)));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Login failed: " + e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return CompletableFuture.completedFuture(loginFailure(e));
         }
     }
 
@@ -101,9 +129,9 @@ public class AuthController {
     public ResponseEntity<?> validateToken(@RequestBody Map<String, String> request) {
         try {
             String token = request.get("token");
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getUsernameFromToken(token);
-                Optional<User> userOpt = userService.findByEmail(email);
+            VerifiedToken verifiedToken = verifyQuietly(token);
+            if (verifiedToken != null) {
+                Optional<User> userOpt = userService.findByEmail(verifiedToken.getSubject());
 
                 if (userOpt.isPresent()) {
                     Map<String, Object> response = new HashMap<>();
@@ -124,6 +152,64 @@ public class AuthController {
         }
     }
 
+    private ResponseEntity<?> invalidCredentials() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid email or password");
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private ResponseEntity<?> registrationFailure(Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            return hashingOverloaded();
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private ResponseEntity<?> loginFailure(Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            return hashingOverloaded();
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Login failed: " + e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private ResponseEntity<?> tooManyAttempts(long retryAfterSeconds) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many login attempts, please try again later");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
+    /**
+     * Fast 503 when the password hashing queue is full
+     */
+    private ResponseEntity<?> hashingOverloaded() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Authentication service is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Verify token once, returning null when it is invalid or expired
+     */
+    private VerifiedToken verifyQuietly(String token) {
+        try {
+            return jwtUtil.verifyToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Create user response without sensitive data
      */
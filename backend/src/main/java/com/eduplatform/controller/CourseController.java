@@ -1,21 +1,40 @@
 package com.eduplatform.controller;
 
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.model.CategoryStats;
 import com.eduplatform.model.Course;
 import com.eduplatform.model.CourseLevel;
+import com.eduplatform.model.CourseSummary;
+import com.eduplatform.model.Review;
+import com.eduplatform.search.CourseLeaderboards;
+import com.eduplatform.search.CourseSuggester;
+import com.eduplatform.search.PublishedCourseLoader;
 import com.eduplatform.service.CourseService;
+import com.eduplatform.service.EnrollmentQueueService;
+import com.eduplatform.service.EnrollmentService;
+import com.eduplatform.service.ReviewService;
 import com.eduplatform.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Course Controller
@@ -26,65 +45,201 @@ import java.util.Optional;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class CourseController {
 
+    // Sort fields allowed with cursor pagination; each is a single scalar per course
+    // Only sorts backed by a (field, _id) index; others would sort every match in memory
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("createdAt");
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private CourseService courseService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CourseSuggester courseSuggester;
+
+    @Autowired
+    private CourseLeaderboards courseLeaderboards;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private EnrollmentQueueService enrollmentQueueService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Value("${catalog.http.max-age-seconds:30}")
+    private long catalogMaxAgeSeconds;
+
     /**
      * Get all published courses with pagination
+     * Passing a cursor (empty for the first slice) switches to keyset pagination without a total count.
+     * Answers 304 when If-None-Match carries the current catalog version.
      */
     @GetMapping("/public")
-    public ResponseEntity<Page<Course>> getPublishedCourses(
+    public ResponseEntity<?> getPublishedCourses(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = catalogVersions.catalogETag();
+        if (CatalogVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogCacheControl()).build();
+        }
+
+        if (cursor != null) {
+            if (!CURSOR_SORT_FIELDS.contains(sortBy)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unsupported sort field for cursor pagination: " + sortBy));
+            }
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            try {
+                return ResponseEntity.ok().eTag(etag).cacheControl(catalogCacheControl())
+                        .body(courseService.getPublishedCourses(cursor, clampSize(size), sortBy, direction));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
                 : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Course> courses = courseService.getPublishedCourses(pageable);
-        return ResponseEntity.ok(courses);
+        Page<CourseSummary> courses = courseService.getPublishedCourses(pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogCacheControl()).body(courses);
+    }
+
+    /**
+     * Typeahead suggestions for course titles, categories and skills
+     * Served entirely from memory
+     */
+    @GetMapping("/public/suggest")
+    public ResponseEntity<List<CourseSuggester.Suggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(courseSuggester.suggest(prefix, Math.min(Math.max(limit, 1), 20)));
+    }
+
+    /**
+     * Featured leaderboards: top-rated and most-enrolled published courses
+     * Served from memory, optionally within one category
+     */
+    @GetMapping("/public/leaderboards")
+    public ResponseEntity<Map<String, List<CourseSummary>>> getLeaderboards(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "6") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = catalogVersions.catalogETag();
+        if (CatalogVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogCacheControl()).build();
+        }
+
+        int bounded = Math.min(Math.max(limit, 1), 20);
+        String filter = category == null || category.isBlank() ? null : category;
+        Map<String, List<CourseSummary>> boards = new HashMap<>();
+        boards.put("topRated", courseLeaderboards.top(CourseLeaderboards.Metric.TOP_RATED, filter, bounded));
+        boards.put("mostEnrolled", courseLeaderboards.top(CourseLeaderboards.Metric.MOST_ENROLLED, filter, bounded));
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogCacheControl()).body(boards);
     }
 
     /**
      * Search courses with filters
+     * Passing a cursor (empty for the first slice) switches to cursor pagination without a total count
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Course>> searchCourses(
+    public ResponseEntity<?> searchCourses(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String level,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
 
-        CourseLevel courseLevel = null;
-        if (level != null) {
+        CourseLevel courseLevel = parseLevel(level);
+
+        if (cursor != null) {
             try {
-                courseLevel = CourseLevel.valueOf(level.toUpperCase());
+                return ResponseEntity.ok(courseService.searchCourses(
+                        q, category, courseLevel, minPrice, maxPrice, cursor, clampSize(size)));
             } catch (IllegalArgumentException e) {
-                // Invalid level, ignore
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
             }
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Course> courses = courseService.searchCourses(q, category, courseLevel, minPrice, maxPrice, pageable);
+        Page<CourseSummary> courses = courseService.searchCourses(q, category, courseLevel, minPrice, maxPrice, pageable);
         return ResponseEntity.ok(courses);
     }
 
+    /**
+     * Search courses with filters, returning facet counts alongside the results
+     */
+    @GetMapping("/search/faceted")
+    public ResponseEntity<Map<String, Object>> searchCoursesFaceted(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CourseLevel courseLevel = parseLevel(level);
+        Pageable pageable = PageRequest.of(page, size);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", courseService.searchCourses(q, category, courseLevel, minPrice, maxPrice, pageable));
+        response.put("facets", courseService.getSearchFacets(q, category, courseLevel, minPrice, maxPrice));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get course by ID
+     * Answers 304 from the course version alone when If-None-Match still matches;
+     * "*" only matches a course that exists
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable String id) {
+    public ResponseEntity<Course> getCourseById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogVersions.courseETag(id);
+        // Authenticated endpoint: browsers may keep a copy but must revalidate it
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (CatalogVersions.matches(ifNoneMatch, etag)
+                && (!CatalogVersions.isWildcard(ifNoneMatch) || courseService.findById(id).isPresent())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
         Optional<Course> course = courseService.findById(id);
-        return course.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return course.map(found -> ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(found))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get an instructor's courses, newest first, with cursor pagination
+     */
+    @GetMapping("/instructor/{instructorId}")
+    public ResponseEntity<?> getCoursesByInstructor(
+            @PathVariable String instructorId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(courseService.getCoursesByInstructor(instructorId, cursor, clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -112,27 +267,140 @@ public class CourseController {
 
     /**
      * Enroll in course
+     * Idempotent: enrolling twice reports alreadyEnrolled instead of failing.
+     * In write-behind mode answers 202 with a pending status; a full queue falls back to enrolling directly.
      */
     @PostMapping("/{id}/enroll")
     public ResponseEntity<?> enrollInCourse(@PathVariable String id, Authentication authentication) {
         try {
-            String email = authentication.getName();
-            Optional<com.eduplatform.model.User> userOpt = userService.findByEmail(email);
+            // Served from the course cache for popular courses
+            Optional<Course> course = courseService.findById(id);
+            if (!course.isPresent() || !PublishedCourseLoader.isPublished(course.get())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Course not found with id: " + id));
+            }
 
-            if (!userOpt.isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+            // Write-behind mode: journaled and queued, written to MongoDB in the background
+            if (enrollmentQueueService.isEnabled() && enrollmentQueueService.submit(authentication.getName(), id)) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(Map.of("message", "Enrollment pending", "status", "PENDING"));
+            }
+
+            boolean enrolled = userService.enrollInCourseByEmail(authentication.getName(), id);
+            if (!enrolled) {
+                return ResponseEntity.ok(Map.of("message", "Already enrolled", "alreadyEnrolled", true));
             }
 
-            com.eduplatform.model.User user = userOpt.get();
-            userService.enrollInCourse(user.getId(), id);
             courseService.incrementEnrollment(id);
+            return ResponseEntity.ok(Map.of("message", "Enrolled successfully", "alreadyEnrolled", false));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Report progress in a course (0-100)
+     * Ticks are coalesced and written in the background; the response is immediate
+     */
+    @PostMapping("/{id}/progress")
+    public ResponseEntity<?> reportProgress(@PathVariable String id, @RequestBody Map<String, Double> body,
+                                            Authentication authentication) {
+        Double progress = body.get("progress");
+        if (progress == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "progress is required"));
+        }
+        try {
+            userService.recordCourseProgress(authentication.getName(), id, progress);
+            return ResponseEntity.accepted().body(Map.of("courseId", id, "progress", progress));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the current user's progress in every course, including unflushed ticks
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<?> getMyProgress(Authentication authentication) {
+        try {
+            return ResponseEntity.ok(userService.getCourseProgress(authentication.getName()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the current user's enrollments, most recently enrolled first
+     */
+    @GetMapping("/my")
+    public ResponseEntity<?> getMyCourses(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        Optional<com.eduplatform.model.User> user = userService.findPrincipalByEmail(authentication.getName());
+        if (!user.isPresent()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+        }
+        Pageable pageable = PageRequest.of(page, clampSize(size), Sort.by(Sort.Direction.DESC, "enrolledAt"));
+        return ResponseEntity.ok(enrollmentService.getUserEnrollments(user.get().getId(), pageable));
+    }
+
+    /**
+     * Get a course roster, most recently enrolled first (the course's instructor and admins only)
+     */
+    @GetMapping("/{id}/roster")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> getCourseRoster(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Optional<Course> course = courseService.findById(id);
+        if (!course.isPresent()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Course not found with id: " + id));
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            Optional<com.eduplatform.model.User> user = userService.findPrincipalByEmail(authentication.getName());
+            if (!user.isPresent() || !user.get().getId().equals(course.get().getInstructorId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Only the course instructor can view the roster"));
+            }
+        }
+        Pageable pageable = PageRequest.of(page, clampSize(size), Sort.by(Sort.Direction.DESC, "enrolledAt"));
+        return ResponseEntity.ok(enrollmentService.getCourseRoster(id, pageable));
+    }
 
-            return ResponseEntity.ok(Map.of("message", "Enrolled successfully"));
+    /**
+     * Submit or replace a review (enrolled students only)
+     * Responds with the course's updated rating
+     */
+    @PostMapping("/{id}/reviews")
+    public ResponseEntity<?> submitReview(@PathVariable String id, @Valid @RequestBody Review review,
+                                          Authentication authentication) {
+        try {
+            Optional<Course> course = courseService.findById(id);
+            if (!course.isPresent() || !PublishedCourseLoader.isPublished(course.get())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Course not found with id: " + id));
+            }
+            return ResponseEntity.ok(reviewService.submitReview(id, authentication.getName(), review));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Get a course's reviews, newest first
+     */
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<Page<Review>> getReviews(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, clampSize(size), Sort.by(Sort.Direction.DESC, "createdAt"));
+        return ResponseEntity.ok(reviewService.getReviews(id, pageable));
+    }
+
     /**
      * Publish course
      */
@@ -154,4 +422,38 @@ public class CourseController {
         Map<String, Object> stats = courseService.getCourseStatistics();
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Get per-category statistics (Admin only)
+     * Served from memory; no aggregation runs per request
+     */
+    @GetMapping("/statistics/categories")
+    public ResponseEntity<List<CategoryStats>> getCategoryStatistics() {
+        return ResponseEntity.ok(courseService.getCategoryStatistics());
+    }
+
+    // Shared caches may serve a listing briefly and revalidate it in the background
+    private CacheControl catalogCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(catalogMaxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(catalogMaxAgeSeconds));
+    }
+
+    private static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+    }
+
+    /**
+     * Parse course level parameter, ignoring invalid values
+     */
+    private CourseLevel parseLevel(String level) {
+        if (level != null) {
+            try {
+                return CourseLevel.valueOf(level.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid level, ignore
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
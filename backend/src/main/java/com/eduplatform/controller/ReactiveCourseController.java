@@ -0,0 +1,88 @@
+package com.eduplatform.controller;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseSummary;
+import com.eduplatform.repository.ReactiveCourseRepository;
+import com.eduplatform.search.CourseSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reactive Course Controller
+ * Non-blocking variants of the catalog read endpoints. Request threads are released
+ * while Mongo is queried; send Accept: application/x-ndjson to stream results
+ * one course per line instead of a single JSON array.
+ */
+@RestController
+@RequestMapping("/reactive/courses")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveCourseController {
+
+    @Autowired
+    private ReactiveCourseRepository reactiveCourseRepository;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    /**
+     * Get published courses with pagination
+     */
+    @GetMapping(value = "/public", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CourseSummary> getPublishedCourses(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return reactiveCourseRepository.findPublishedCourses(pageable);
+    }
+
+    /**
+     * Search published courses
+     */
+    @GetMapping(value = "/public/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CourseSummary> searchCourses(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        if (!courseSearchIndex.isReady()) {
+            return reactiveCourseRepository.searchPublishedCourses(q, pageable);
+        }
+
+        // Rank from the in-memory index, then read only the requested page
+        int depth = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + size);
+        List<String> rankedIds = courseSearchIndex.search(q, depth);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        List<String> pageIds = rankedIds.subList(from, Math.min(from + size, rankedIds.size()));
+        return reactiveCourseRepository.findSummariesByIdIn(pageIds)
+                .collectSortedList(Comparator.comparingInt(course -> pageIds.indexOf(course.getId())))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Get course by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Course>> getCourseById(@PathVariable String id) {
+        return reactiveCourseRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.eduplatform.controller;
+
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.model.DashboardStatistics;
+import com.eduplatform.service.DashboardStreamService;
+import com.eduplatform.service.StatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Statistics Controller
+ * Serves the dashboard snapshot and the live delta stream
+ */
+@RestController
+@RequestMapping("/statistics")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StatisticsController {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    /**
+     * Get the dashboard statistics snapshot (Admin only)
+     * Answers 304 when If-None-Match carries the current snapshot version.
+     */
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardStatistics> getDashboardStatistics(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DashboardStatistics snapshot = statisticsService.getSnapshot();
+        String etag = "\"stats-" + snapshot.getVersion() + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (CatalogVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(snapshot);
+    }
+
+    /**
+     * Stream dashboard deltas as server-sent events (Admin and Instructor only)
+     * Sends a "snapshot" event first, then "delta" events merged per tick.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<SseEmitter> streamDashboard() {
+        try {
+            return ResponseEntity.ok(dashboardStreamService.subscribe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
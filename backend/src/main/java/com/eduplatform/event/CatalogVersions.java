@@ -0,0 +1,140 @@
+package com.eduplatform.event;
+
+import com.eduplatform.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Version counters for the course catalog, used as HTTP entity tags
+ * Every course change first bumps the course and catalog versions and only then evicts
+ * the cached copies. Cached entries carry the version read before they were loaded and
+ * are only served while it is still current, so a read that raced a change can never
+ * repopulate the cache with the old content.
+ * Versions live in memory; the boot id in each tag invalidates tags from a previous run.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<String, Long> courseVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Invalidate on create, update, publish and archive
+     */
+    @EventListener
+    public void onCourseEvent(CourseEvent event) {
+        courseChanged(event.getCourseId());
+    }
+
+    /**
+     * Advance the versions, then evict cached copies of the course and the listings
+     */
+    public void courseChanged(String courseId) {
+        long version = catalogVersion.incrementAndGet();
+        courseVersions.put(courseId, version);
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        if (courses != null) {
+            courses.evict(courseId);
+        }
+        Cache listings = cacheManager.getCache(CacheConfig.COURSE_LISTINGS);
+        if (listings != null) {
+            listings.clear();
+        }
+    }
+
+    /**
+     * Read a course through the course cache; null results are not cached
+     */
+    public <T> T cachedCourse(String courseId, Supplier<T> loader) {
+        return cached(CacheConfig.COURSES, courseId, courseVersions.getOrDefault(courseId, 0L), loader);
+    }
+
+    /**
+     * Read a listing page through the listings cache
+     */
+    public <T> T cachedListing(Object key, Supplier<T> loader) {
+        return cached(CacheConfig.COURSE_LISTINGS, key, catalogVersion.get(), loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, Object key, long version, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        Versioned entry = cache.get(key, Versioned.class);
+        if (entry != null && entry.version == version) {
+            return (T) entry.value;
+        }
+        // Tagged with the version read before loading; a change during the load makes it stale at once
+        T value = loader.get();
+        if (value != null) {
+            cache.put(key, new Versioned(version, value));
+        }
+        return value;
+    }
+
+    /**
+     * Strong entity tag for a single course
+     */
+    public String courseETag(String courseId) {
+        return "\"" + bootId + "-c" + courseVersions.getOrDefault(courseId, 0L) + "\"";
+    }
+
+    /**
+     * Strong entity tag for catalog listings
+     */
+    public String catalogETag() {
+        return "\"" + bootId + "-v" + catalogVersion.get() + "\"";
+    }
+
+    /**
+     * Check whether If-None-Match is "*", which only matches a resource that exists
+     */
+    public static boolean isWildcard(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
+
+    /**
+     * Check an If-None-Match header against an entity tag
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison, as If-None-Match requires
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Versioned {
+        private final long version;
+        private final Object value;
+
+        private Versioned(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.eduplatform.event;
+
+/**
+ * Published after enrollments reach 100% progress for the first time
+ */
+public class CompletionEvent {
+
+    private final long completions;
+
+    public CompletionEvent(long completions) {
+        this.completions = completions;
+    }
+
+    public long getCompletions() { return completions; }
+}
@@ -0,0 +1,41 @@
+package com.eduplatform.event;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+
+/**
+ * Course change event published by CourseService after a course is persisted
+ * In-memory catalog structures listen for these to stay in sync with MongoDB
+ */
+public class CourseEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        PUBLISHED,
+        ARCHIVED
+    }
+
+    private final Type type;
+    private final Course course;
+    // Status before a publish or archive; null when it did not change or the course is new
+    private final CourseStatus previousStatus;
+
+    public CourseEvent(Type type, Course course) {
+        this(type, course, null);
+    }
+
+    public CourseEvent(Type type, Course course, CourseStatus previousStatus) {
+        this.type = type;
+        this.course = course;
+        this.previousStatus = previousStatus;
+    }
+
+    public Type getType() { return type; }
+
+    public Course getCourse() { return course; }
+
+    public String getCourseId() { return course.getId(); }
+
+    public CourseStatus getPreviousStatus() { return previousStatus; }
+}
@@ -0,0 +1,105 @@
+package com.eduplatform.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Records course events that arrive while an in-memory view is rebuilt from MongoDB
+ * The rebuild scans without holding the owner's lock and notes when it read each course.
+ * Events keep updating the live view and are recorded with the time they were received;
+ * once the scan is done, every event received after its course was read is replayed onto
+ * the fresh view, and the ones the scan already saw are dropped.
+ * Not thread-safe: begin, record, replay and abort run under the owner's lock, and read
+ * only on the scanning thread between begin and replay.
+ */
+public class CourseEventRecorder {
+
+    // Events received while a rebuild is scanning; null when no rebuild is running
+    private List<Recorded> recorded;
+    // When each course was read; an event received earlier is already in what was read
+    private Map<String, Long> readAt;
+
+    /**
+     * Start recording for a rebuild
+     *
+     * @return false if another rebuild is already running
+     */
+    public boolean begin() {
+        if (recorded != null) {
+            return false;
+        }
+        recorded = new ArrayList<>();
+        readAt = new HashMap<>();
+        return true;
+    }
+
+    /**
+     * Note that the scan has just read a course
+     */
+    public void read(String courseId) {
+        readAt.put(courseId, System.nanoTime());
+    }
+
+    /**
+     * Record an event applied to the live view; a no-op when no rebuild is running
+     */
+    public void record(CourseEvent event) {
+        if (recorded != null) {
+            recorded.add(new Recorded(event, event.getCourseId(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Record an event applied to the live view; a no-op when no rebuild is running
+     */
+    public void record(CourseMetricsEvent event) {
+        if (recorded != null) {
+            recorded.add(new Recorded(event, event.getCourseId(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Replay the events the scan missed onto the fresh view and stop recording
+     *
+     * @return the number of events replayed
+     */
+    public int replay(Consumer<CourseEvent> courseEvents, Consumer<CourseMetricsEvent> metricsEvents) {
+        int replayed = 0;
+        for (Recorded event : recorded) {
+            Long read = readAt.get(event.courseId);
+            if (read == null || event.receivedAt - read > 0) {
+                if (event.event instanceof CourseEvent) {
+                    courseEvents.accept((CourseEvent) event.event);
+                } else {
+                    metricsEvents.accept((CourseMetricsEvent) event.event);
+                }
+                replayed++;
+            }
+        }
+        abort();
+        return replayed;
+    }
+
+    /**
+     * Stop recording without replaying, after a failed scan
+     */
+    public void abort() {
+        recorded = null;
+        readAt = null;
+    }
+
+    private static final class Recorded {
+        private final Object event;
+        private final String courseId;
+        private final long receivedAt;
+
+        private Recorded(Object event, String courseId, long receivedAt) {
+            this.event = event;
+            this.courseId = courseId;
+            this.receivedAt = receivedAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.eduplatform.event;
+
+/**
+ * Course metrics change event, published after enrollment counts or ratings are written
+ * Carries only what changed so listeners can adjust without reading the course back
+ */
+public class CourseMetricsEvent {
+
+    private final String courseId;
+    private final long enrollmentDelta;
+    private final Double rating;
+    private final Integer ratingCount;
+
+    private CourseMetricsEvent(String courseId, long enrollmentDelta, Double rating, Integer ratingCount) {
+        this.courseId = courseId;
+        this.enrollmentDelta = enrollmentDelta;
+        this.rating = rating;
+        this.ratingCount = ratingCount;
+    }
+
+    /**
+     * Enrollment count changed by the given delta
+     */
+    public static CourseMetricsEvent enrollments(String courseId, long delta) {
+        return new CourseMetricsEvent(courseId, delta, null, null);
+    }
+
+    /**
+     * Rating recomputed to the given value
+     */
+    public static CourseMetricsEvent rating(String courseId, double rating, int ratingCount) {
+        return new CourseMetricsEvent(courseId, 0, rating, ratingCount);
+    }
+
+    public String getCourseId() { return courseId; }
+
+    public long getEnrollmentDelta() { return enrollmentDelta; }
+
+    // Null when the rating did not change
+    public Double getRating() { return rating; }
+
+    public Integer getRatingCount() { return ratingCount; }
+}
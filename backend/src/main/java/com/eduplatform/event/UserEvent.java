@@ -0,0 +1,26 @@
+package com.eduplatform.event;
+
+import com.eduplatform.model.User;
+
+/**
+ * User change event published by UserService after a user is persisted
+ */
+public class UserEvent {
+
+    public enum Type {
+        REGISTERED,
+        DEACTIVATED
+    }
+
+    private final Type type;
+    private final User user;
+
+    public UserEvent(Type type, User user) {
+        this.type = type;
+        this.user = user;
+    }
+
+    public Type getType() { return type; }
+
+    public User getUser() { return user; }
+}
@@ -0,0 +1,58 @@
+package com.eduplatform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Category Statistics over published courses
+ * Materialized into the category_stats collection by CategoryStatsService and
+ * served from memory; one document per category.
+ */
+@Document(collection = "category_stats")
+public class CategoryStats {
+
+    @Id
+    private String category;
+
+    private long courseCount;
+    private double ratingSum;
+    private double avgRating;
+    private long totalEnrollments;
+    private Double minPrice;
+    private Double maxPrice;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CategoryStats() {}
+
+    public CategoryStats(String category) {
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getCourseCount() { return courseCount; }
+    public void setCourseCount(long courseCount) { this.courseCount = courseCount; }
+
+    public double getRatingSum() { return ratingSum; }
+    public void setRatingSum(double ratingSum) { this.ratingSum = ratingSum; }
+
+    public double getAvgRating() { return avgRating; }
+    public void setAvgRating(double avgRating) { this.avgRating = avgRating; }
+
+    public long getTotalEnrollments() { return totalEnrollments; }
+    public void setTotalEnrollments(long totalEnrollments) { this.totalEnrollments = totalEnrollments; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -58,6 +58,12 @@ public class Course {
     @Max(value = 5, message = "Rating cannot exceed 5")
     private Double rating = 0.0;
 
+    // Running review totals; rating = ratingSum / ratingCount (see ReviewService)
+    private Long ratingSum = 0L;
+    private Integer ratingCount = 0;
+    // When a review last adjusted the totals; reconciliation leaves recently rated courses alone
+    private LocalDateTime ratingUpdatedAt;
+
     private Integer enrollmentCount = 0;
     private String imageUrl;
     private List<String> skills;
@@ -168,6 +174,15 @@ public class Course {
     public Double getRating() { return rating; }
     public void setRating(Double rating) { this.rating = rating; }
 
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+
+    public Integer getRatingCount() { return ratingCount; }
+    public void setRatingCount(Integer ratingCount) { this.ratingCount = ratingCount; }
+
+    public LocalDateTime getRatingUpdatedAt() { return ratingUpdatedAt; }
+    public void setRatingUpdatedAt(LocalDateTime ratingUpdatedAt) { this.ratingUpdatedAt = ratingUpdatedAt; }
+
     public Integer getEnrollmentCount() { return enrollmentCount; }
     public void setEnrollmentCount(Integer enrollmentCount) { this.enrollmentCount = enrollmentCount; }
 
@@ -0,0 +1,81 @@
+package com.eduplatform.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Course Summary projection for list endpoints
+ * Read straight from the courses collection without lessons or description;
+ * the full document is only served by GET /courses/{id}
+ */
+public class CourseSummary {
+
+    private String id;
+    private String title;
+    private String instructorId;
+    private String instructorName;
+    private String category;
+    private CourseLevel level;
+    private String duration;
+    private Double price;
+    private Double rating;
+    private Integer ratingCount;
+    private Integer enrollmentCount;
+    private String imageUrl;
+    private List<String> skills;
+    private CourseStatus status;
+    private Boolean isPublished;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public CourseSummary() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getInstructorId() { return instructorId; }
+    public void setInstructorId(String instructorId) { this.instructorId = instructorId; }
+
+    public String getInstructorName() { return instructorName; }
+    public void setInstructorName(String instructorName) { this.instructorName = instructorName; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public CourseLevel getLevel() { return level; }
+    public void setLevel(CourseLevel level) { this.level = level; }
+
+    public String getDuration() { return duration; }
+    public void setDuration(String duration) { this.duration = duration; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; }
+
+    public Integer getRatingCount() { return ratingCount; }
+    public void setRatingCount(Integer ratingCount) { this.ratingCount = ratingCount; }
+
+    public Integer getEnrollmentCount() { return enrollmentCount; }
+    public void setEnrollmentCount(Integer enrollmentCount) { this.enrollmentCount = enrollmentCount; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public List<String> getSkills() { return skills; }
+    public void setSkills(List<String> skills) { this.skills = skills; }
+
+    public CourseStatus getStatus() { return status; }
+    public void setStatus(CourseStatus status) { this.status = status; }
+
+    public Boolean getIsPublished() { return isPublished; }
+    public void setIsPublished(Boolean isPublished) { this.isPublished = isPublished; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
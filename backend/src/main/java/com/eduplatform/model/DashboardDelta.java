@@ -0,0 +1,46 @@
+package com.eduplatform.model;
+
+import java.util.Map;
+
+/**
+ * Dashboard Delta pushed to live dashboards
+ * Covers ticks fromSequence..toSequence; a range wider than one tick means the
+ * subscriber fell behind and the deltas in between were merged. The courses and
+ * users maps use the same keys as the dashboard snapshot, so a client adds them
+ * to the matching counts.
+ */
+public class DashboardDelta {
+
+    private final long fromSequence;
+    private final long toSequence;
+    // Activity: enrollments, newUsers, publishes, completions
+    private final Map<String, Long> totals;
+    // Changes to DashboardStatistics.courses, e.g. publishedCourses
+    private final Map<String, Long> courses;
+    // Changes to DashboardStatistics.users, e.g. totalStudents
+    private final Map<String, Long> users;
+    // courseId -> enrollment delta
+    private final Map<String, Long> courseEnrollments;
+
+    public DashboardDelta(long fromSequence, long toSequence, Map<String, Long> totals, Map<String, Long> courses,
+                          Map<String, Long> users, Map<String, Long> courseEnrollments) {
+        this.fromSequence = fromSequence;
+        this.toSequence = toSequence;
+        this.totals = totals;
+        this.courses = courses;
+        this.users = users;
+        this.courseEnrollments = courseEnrollments;
+    }
+
+    public long getFromSequence() { return fromSequence; }
+
+    public long getToSequence() { return toSequence; }
+
+    public Map<String, Long> getTotals() { return totals; }
+
+    public Map<String, Long> getCourses() { return courses; }
+
+    public Map<String, Long> getUsers() { return users; }
+
+    public Map<String, Long> getCourseEnrollments() { return courseEnrollments; }
+}
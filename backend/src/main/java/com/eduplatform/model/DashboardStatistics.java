@@ -0,0 +1,33 @@
+package com.eduplatform.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Dashboard Statistics snapshot
+ * Course and user counts computed together; the version only changes when a count does,
+ * so clients can revalidate with an ETag.
+ */
+public class DashboardStatistics {
+
+    private final long version;
+    private final LocalDateTime generatedAt;
+    private final Map<String, Long> courses;
+    private final Map<String, Long> users;
+
+    public DashboardStatistics(long version, LocalDateTime generatedAt,
+                               Map<String, Long> courses, Map<String, Long> users) {
+        this.version = version;
+        this.generatedAt = generatedAt;
+        this.courses = courses;
+        this.users = users;
+    }
+
+    public long getVersion() { return version; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+
+    public Map<String, Long> getCourses() { return courses; }
+
+    public Map<String, Long> getUsers() { return users; }
+}
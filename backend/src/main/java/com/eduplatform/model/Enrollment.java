@@ -0,0 +1,65 @@
+package com.eduplatform.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Enrollment Entity for MongoDB
+ * One document per (user, course) so enrollments and progress no longer grow
+ * inside the user document. Indexed in both directions: a user's courses and a
+ * course's roster are both index range scans. The indexes are ensured by EnrollmentService.
+ */
+@Document(collection = "enrollments")
+public class Enrollment {
+
+    @Id
+    private String id;
+
+    private String userId;
+    private String courseId;
+    private Double progress = 0.0;
+    private EnrollmentStatus status = EnrollmentStatus.ACTIVE;
+    private String certificateId;
+
+    private LocalDateTime enrolledAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Enrollment() {}
+
+    public Enrollment(String userId, String courseId) {
+        this.userId = userId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+
+    public Double getProgress() { return progress; }
+    public void setProgress(Double progress) { this.progress = progress; }
+
+    public EnrollmentStatus getStatus() { return status; }
+    public void setStatus(EnrollmentStatus status) { this.status = status; }
+
+    public String getCertificateId() { return certificateId; }
+    public void setCertificateId(String certificateId) { this.certificateId = certificateId; }
+
+    public LocalDateTime getEnrolledAt() { return enrolledAt; }
+    public void setEnrolledAt(LocalDateTime enrolledAt) { this.enrolledAt = enrolledAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
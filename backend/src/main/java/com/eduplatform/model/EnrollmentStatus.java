@@ -0,0 +1,9 @@
+package com.eduplatform.model;
+
+/**
+ * Enrollment status enumeration
+ */
+public enum EnrollmentStatus {
+    ACTIVE,
+    COMPLETED
+}
@@ -55,6 +55,9 @@ public class User {
     // Progress tracking
     private Map<String, Double> courseProgress; // courseId -> progress percentage
 
+    // Bumped to revoke every token issued before it (stateless auth mode)
+    private Integer tokenEpoch = 0;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -114,6 +117,9 @@ public class User {
     public Map<String, Double> getCourseProgress() { return courseProgress; }
     public void setCourseProgress(Map<String, Double> courseProgress) { this.courseProgress = courseProgress; }
 
+    public Integer getTokenEpoch() { return tokenEpoch; }
+    public void setTokenEpoch(Integer tokenEpoch) { this.tokenEpoch = tokenEpoch; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
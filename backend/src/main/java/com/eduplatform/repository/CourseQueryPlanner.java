@@ -0,0 +1,220 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.CourseSummary;
+import com.mongodb.ExplainVerbosity;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Query planner for catalog search
+ * Combines every supplied filter into a single query instead of picking one
+ * repository method per filter combination, and hints the index that covers it:
+ * the partial published index when a category is given, the full catalog index
+ * otherwise, and the _id index when the text index already narrowed the candidates.
+ */
+@Component
+public class CourseQueryPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseQueryPlanner.class);
+
+    public static final String CATALOG_FILTER_INDEX = "catalog_filter_idx";
+    public static final String PUBLISHED_CATALOG_INDEX = "published_catalog_idx";
+    public static final String PUBLISHED_RECENT_INDEX = "published_recent_idx";
+    public static final String INSTRUCTOR_RECENT_INDEX = "instructor_recent_idx";
+    public static final String PUBLISHED_RATING_INDEX = "published_rating_idx";
+    private static final String ID_INDEX = "_id_";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Log the winning plan of every search query (debug only)
+    @Value("${search.explain:false}")
+    private boolean explain;
+
+    // Only indexes known to exist are hinted; hinting a missing index fails the query
+    private volatile Set<String> availableIndexes = Set.of(ID_INDEX);
+
+    /**
+     * Create the catalog and listing indexes at startup
+     * Annotation-driven index creation is disabled, so they are ensured here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(Course.class).ensureIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("isPublished", Sort.Direction.ASC)
+                    .on("category", Sort.Direction.ASC)
+                    .on("level", Sort.Direction.ASC)
+                    .on("price", Sort.Direction.ASC)
+                    .named(CATALOG_FILTER_INDEX));
+            mongoTemplate.indexOps(Course.class).ensureIndex(new Index()
+                    .on("category", Sort.Direction.ASC)
+                    .on("level", Sort.Direction.ASC)
+                    .on("price", Sort.Direction.ASC)
+                    .partial(PartialIndexFilter.of(Criteria.where("status").is(CourseStatus.PUBLISHED.name())))
+                    .named(PUBLISHED_CATALOG_INDEX));
+            mongoTemplate.indexOps(Course.class).ensureIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("isPublished", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named(PUBLISHED_RECENT_INDEX));
+            mongoTemplate.indexOps(Course.class).ensureIndex(new Index()
+                    .on("instructorId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named(INSTRUCTOR_RECENT_INDEX));
+            mongoTemplate.indexOps(Course.class).ensureIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("isPublished", Sort.Direction.ASC)
+                    .on("rating", Sort.Direction.DESC)
+                    .on("enrollmentCount", Sort.Direction.DESC)
+                    .named(PUBLISHED_RATING_INDEX));
+
+            Set<String> names = new HashSet<>();
+            for (IndexInfo info : mongoTemplate.indexOps(Course.class).getIndexInfo()) {
+                names.add(info.getName());
+            }
+            availableIndexes = names;
+        } catch (Exception e) {
+            logger.error("Could not ensure catalog search indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Find a page of published course summaries matching all filters
+     */
+    public Page<CourseSummary> findPage(CourseSearchFilter filter, Pageable pageable) {
+        Query query = buildQuery(filter, null).with(pageable);
+        explainIfEnabled(query);
+        List<CourseSummary> content = mongoTemplate.query(Course.class).as(CourseSummary.class)
+                .matching(query).all();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Course.class));
+    }
+
+    /**
+     * Whether any structured filter (category, level or price) is set
+     */
+    public static boolean hasStructuredFilters(CourseSearchFilter filter) {
+        return filter.getCategory() != null || filter.getLevel() != null
+                || filter.getMinPrice() != null || filter.getMaxPrice() != null;
+    }
+
+    /**
+     * Build one query from all filters, hinted to the best filtering index
+     * Without candidate ids the search term falls back to a regex over title, description and skills.
+     */
+    public Query buildQuery(CourseSearchFilter filter, Collection<String> candidateIds) {
+        Query query = buildFilter(filter, candidateIds);
+        String hint = chooseIndex(filter, candidateIds);
+        if (hint != null) {
+            query.withHint(hint);
+        }
+        return query;
+    }
+
+    /**
+     * Build one query from all filters without an index hint
+     * For keyset pagination, where the planner should pick an index that also provides the
+     * (createdAt, _id) order; the filtering indexes would sort every match in memory.
+     */
+    public Query buildFilter(CourseSearchFilter filter, Collection<String> candidateIds) {
+        // Equality on status first so the partial index is eligible
+        Criteria criteria = Criteria.where("status").is(CourseStatus.PUBLISHED).and("isPublished").is(true);
+        if (filter.getCategory() != null) {
+            criteria.and("category").is(filter.getCategory());
+        }
+        if (filter.getLevel() != null) {
+            criteria.and("level").is(filter.getLevel());
+        }
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null) {
+            criteria.and("price").gte(filter.getMinPrice()).lte(filter.getMaxPrice());
+        } else if (filter.getMinPrice() != null) {
+            criteria.and("price").gte(filter.getMinPrice());
+        } else if (filter.getMaxPrice() != null) {
+            criteria.and("price").lte(filter.getMaxPrice());
+        }
+
+        if (candidateIds != null) {
+            criteria.and("_id").in(candidateIds);
+        } else if (filter.hasSearchTerm()) {
+            Pattern pattern = Pattern.compile(Pattern.quote(filter.getSearchTerm().trim()), Pattern.CASE_INSENSITIVE);
+            criteria.orOperator(
+                    Criteria.where("title").regex(pattern),
+                    Criteria.where("description").regex(pattern),
+                    Criteria.where("skills").regex(pattern));
+        }
+
+        return Query.query(criteria);
+    }
+
+    private String chooseIndex(CourseSearchFilter filter, Collection<String> candidateIds) {
+        String index;
+        if (candidateIds != null) {
+            index = ID_INDEX;
+        } else if (filter.getCategory() != null) {
+            // Category leads the partial index, which skips drafts and archived courses entirely
+            index = PUBLISHED_CATALOG_INDEX;
+        } else {
+            index = CATALOG_FILTER_INDEX;
+        }
+        return availableIndexes.contains(index) ? index : null;
+    }
+
+    private void explainIfEnabled(Query query) {
+        if (!explain || !logger.isDebugEnabled()) {
+            return;
+        }
+        try {
+            QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(Course.class);
+            Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+            var find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Course.class))
+                    .find(filter)
+                    .sort(mapper.getMappedSort(query.getSortObject(), entity));
+            if (query.getHint() != null) {
+                find = find.hintString(query.getHint());
+            }
+            Document plan = find.explain(ExplainVerbosity.EXECUTION_STATS);
+            Document planner = plan.get("queryPlanner", Document.class);
+            Document stats = plan.get("executionStats", Document.class);
+            logger.debug("Course search plan for {} (hint {}): winningPlan={} nReturned={} keysExamined={} docsExamined={}",
+                    filter.toJson(), query.getHint(),
+                    planner == null ? null : planner.get("winningPlan", Document.class).toJson(),
+                    stats == null ? null : stats.get("nReturned"),
+                    stats == null ? null : stats.get("totalKeysExamined"),
+                    stats == null ? null : stats.get("totalDocsExamined"));
+        } catch (Exception e) {
+            logger.debug("Could not explain course search query: {}", e.getMessage());
+        }
+    }
+}
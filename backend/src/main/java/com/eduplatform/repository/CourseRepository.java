@@ -2,14 +2,15 @@ package com.eduplatform.repository;
 
 import com.eduplatform.model.Course;
 import com.eduplatform.model.CourseLevel;
+import com.eduplatform.model.CourseSummary;
 import com.eduplatform.model.CourseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
-import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,10 +20,14 @@ import java.util.List;
 @Repository
 public interface CourseRepository extends MongoRepository<Course, String> {
 
+    // List queries return CourseSummary and never read these fields
+    String SUMMARY_FIELDS = "{'lessons': 0, 'description': 0}";
+
     // Basic queries with indexes
     List<Course> findByInstructorId(String instructorId);
 
-    Page<Course> findByInstructorId(String instructorId, Pageable pageable);
+    // Projected to CourseSummary's properties
+    Page<CourseSummary> findByInstructorId(String instructorId, Pageable pageable);
 
     // Category-based queries (indexed)
     List<Course> findByCategory(String category);
@@ -38,8 +43,8 @@ public interface CourseRepository extends MongoRepository<Course, String> {
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
 
     // Published courses (most common query)
-    @Query("{'isPublished': true, 'status': 'PUBLISHED'}")
-    Page<Course> findPublishedCourses(Pageable pageable);
+    @Query(value = "{'isPublished': true, 'status': 'PUBLISHED'}", fields = SUMMARY_FIELDS)
+    Page<CourseSummary> findPublishedCourses(Pageable pageable);
 
     // Combined queries using compound indexes
     List<Course> findByCategoryAndLevel(String category, CourseLevel level);
@@ -49,7 +54,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
     List<Course> findByInstructorIdAndCategory(String instructorId, String category);
 
     // Search queries with text indexing
-    @Query("{'$and': [" +
+    @Query(value = "{'$and': [" +
            "{'$or': [" +
            "{'title': {'$regex': ?0, '$options': 'i'}}," +
            "{'description': {'$regex': ?0, '$options': 'i'}}," +
@@ -57,8 +62,8 @@ public interface CourseRepository extends MongoRepository<Course, String> {
            "]}," +
            "{'isPublished': true}," +
            "{'status': 'PUBLISHED'}" +
-           "]}")
-    Page<Course> searchPublishedCourses(String searchTerm, Pageable pageable);
+           "]}", fields = SUMMARY_FIELDS)
+    Page<CourseSummary> searchPublishedCourses(String searchTerm, Pageable pageable);
 
     // Advanced filtering with multiple criteria
     @Query("{'$and': [" +
@@ -79,26 +84,23 @@ public interface CourseRepository extends MongoRepository<Course, String> {
     long countByStatus(CourseStatus status);
 
     // Top-rated courses
-    @Query("{'isPublished': true, 'status': 'PUBLISHED'}")
-    Page<Course> findTopRatedCourses(Pageable pageable);
+    @Query(value = "{'isPublished': true, 'status': 'PUBLISHED'}", fields = SUMMARY_FIELDS)
+    Page<CourseSummary> findTopRatedCourses(Pageable pageable);
 
     // Most enrolled courses
-    @Query("{'isPublished': true, 'status': 'PUBLISHED'}")
-    Page<Course> findMostEnrolledCourses(Pageable pageable);
-
-    // Aggregation for category statistics
-    @Aggregation(pipeline = {
-        "{ '$match': { 'isPublished': true, 'status': 'PUBLISHED' } }",
-        "{ '$group': { '_id': '$category', 'count': { '$sum': 1 }, 'avgRating': { '$avg': '$rating' } } }",
-        "{ '$sort': { 'count': -1 } }"
-    })
-    List<Object> getCategoryStatistics();
+    @Query(value = "{'isPublished': true, 'status': 'PUBLISHED'}", fields = SUMMARY_FIELDS)
+    Page<CourseSummary> findMostEnrolledCourses(Pageable pageable);
 
     // Price range queries
     @Query("{'isPublished': true, 'status': 'PUBLISHED', 'price': {'$gte': ?0, '$lte': ?1}}")
     Page<Course> findByPriceRange(Double minPrice, Double maxPrice, Pageable pageable);
 
     // Free courses
-    @Query("{'isPublished': true, 'status': 'PUBLISHED', '$or': [{'price': 0}, {'price': null}]}")
-    Page<Course> findFreeCourses(Pageable pageable);
+    @Query(value = "{'isPublished': true, 'status': 'PUBLISHED', '$or': [{'price': 0}, {'price': null}]}",
+           fields = SUMMARY_FIELDS)
+    Page<CourseSummary> findFreeCourses(Pageable pageable);
+
+    // Summaries for a page of ids ranked by the search index
+    @Query(value = "{'_id': {'$in': ?0}}", fields = SUMMARY_FIELDS)
+    List<CourseSummary> findSummariesByIdIn(Collection<String> ids);
 }
\ No newline at end of file
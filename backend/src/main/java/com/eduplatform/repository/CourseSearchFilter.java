@@ -0,0 +1,46 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.model.CourseLevel;
+
+/**
+ * Filters accepted by catalog search
+ * Every supplied filter is applied; null means "not filtered"
+ */
+public class CourseSearchFilter {
+
+    private String searchTerm;
+    private String category;
+    private CourseLevel level;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public CourseSearchFilter() {}
+
+    public CourseSearchFilter(String searchTerm, String category, CourseLevel level,
+                              Double minPrice, Double maxPrice) {
+        this.searchTerm = searchTerm;
+        this.category = category;
+        this.level = level;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public boolean hasSearchTerm() {
+        return searchTerm != null && !searchTerm.trim().isEmpty();
+    }
+
+    public String getSearchTerm() { return searchTerm; }
+    public void setSearchTerm(String searchTerm) { this.searchTerm = searchTerm; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public CourseLevel getLevel() { return level; }
+    public void setLevel(CourseLevel level) { this.level = level; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+}
@@ -0,0 +1,26 @@
+package com.eduplatform.repository;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated listing
+ * Carries no total count; nextCursor is null on the last slice.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+
+    public int getSize() { return content.size(); }
+}
@@ -0,0 +1,37 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.model.Enrollment;
+import com.eduplatform.model.EnrollmentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Enrollment Repository for roster and "my courses" queries
+ * Served by the user_course_idx and course_enrolled_idx indexes; a user has few
+ * enrollments, so sorting them needs no index of its own
+ */
+@Repository
+public interface EnrollmentRepository extends MongoRepository<Enrollment, String> {
+
+    Optional<Enrollment> findByUserIdAndCourseId(String userId, String courseId);
+
+    boolean existsByUserIdAndCourseId(String userId, String courseId);
+
+    // "My courses" (user_course_idx)
+    Page<Enrollment> findByUserId(String userId, Pageable pageable);
+
+    Page<Enrollment> findByUserIdAndStatus(String userId, EnrollmentStatus status, Pageable pageable);
+
+    // Course roster, newest first (course_enrolled_idx)
+    Page<Enrollment> findByCourseId(String courseId, Pageable pageable);
+
+    Page<Enrollment> findByCourseIdAndStatus(String courseId, EnrollmentStatus status, Pageable pageable);
+
+    long countByCourseId(String courseId);
+
+    long countByCourseIdAndStatus(String courseId, EnrollmentStatus status);
+}
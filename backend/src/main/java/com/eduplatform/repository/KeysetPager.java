@@ -0,0 +1,116 @@
+package com.eduplatform.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination over MongoDB collections
+ * Results are ordered by (sortField, _id) and each slice starts strictly after the
+ * last row of the previous one, so every slice costs an index seek plus `size` rows
+ * no matter how deep the client has scrolled, and no count query is issued.
+ * The cursor is an opaque base64 token over the sort field, direction, last sort
+ * value and last id.
+ */
+@Component
+public class KeysetPager {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Read the slice following the cursor
+     *
+     * @param query      filter criteria only, without a top-level $and; sort, skip and limit are set here
+     * @param domainType mapped collection to read
+     * @param resultType type to read rows as; a projection only reads its own fields
+     * @param cursor     token from the previous slice, or null/empty for the first slice
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public <T> CursorPage<T> find(Query query, Class<?> domainType, Class<T> resultType,
+                                  String sortField, Sort.Direction direction, String cursor, int size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            if (query.getQueryObject().containsKey("$and")) {
+                throw new IllegalStateException("Keyset queries cannot use a top-level $and");
+            }
+            // Wrapped in $and so it cannot replace a $or the filter already has
+            Document position = decode(cursor, sortField, direction);
+            query.addCriteria(new Criteria().andOperator(after(position, sortField, direction)));
+        }
+        query.with(Sort.by(direction, sortField, "_id")).limit(size + 1);
+
+        List<T> rows = mongoTemplate.query(domainType).as(resultType).matching(query).all();
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, size));
+        return new CursorPage<>(content, encode(content.get(size - 1), sortField, direction));
+    }
+
+    // Rows strictly after (value, id) in (sortField, _id) order; nulls sort lowest in MongoDB
+    private static Criteria after(Document position, String sortField, Sort.Direction direction) {
+        Object value = position.get("v");
+        // Range operators on _id are not mapped to ObjectId, so convert explicitly
+        String rawId = position.getString("id");
+        Object id = ObjectId.isValid(rawId) ? new ObjectId(rawId) : rawId;
+        boolean ascending = direction.isAscending();
+
+        if (value == null) {
+            Criteria sameKey = new Criteria().andOperator(
+                    Criteria.where(sortField).is(null),
+                    ascending ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id));
+            return ascending
+                    ? new Criteria().orOperator(Criteria.where(sortField).ne(null), sameKey)
+                    : sameKey;
+        }
+
+        Criteria sameKey = new Criteria().andOperator(
+                Criteria.where(sortField).is(value),
+                ascending ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id));
+        return ascending
+                ? new Criteria().orOperator(Criteria.where(sortField).gt(value), sameKey)
+                : new Criteria().orOperator(Criteria.where(sortField).lt(value), sameKey,
+                        Criteria.where(sortField).is(null));
+    }
+
+    private String encode(Object row, String sortField, Sort.Direction direction) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(row.getClass());
+        PersistentPropertyAccessor<Object> accessor = entity.getPropertyAccessor(row);
+        Object value = accessor.getProperty(entity.getRequiredPersistentProperty(sortField));
+        Object id = accessor.getProperty(entity.getRequiredIdProperty());
+
+        Document position = new Document("s", sortField)
+                .append("d", direction.name())
+                .append("v", mongoTemplate.getConverter().convertToMongoType(value))
+                .append("id", String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor, String sortField, Sort.Direction direction) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!sortField.equals(position.getString("s")) || !direction.name().equals(position.getString("d"))
+                || !(position.get("id") instanceof String)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        return position;
+    }
+}
@@ -0,0 +1,39 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Reactive Course Repository for the non-blocking public catalog read path
+ * Mirrors the read queries of CourseRepository on the reactive MongoDB driver
+ */
+@Repository
+public interface ReactiveCourseRepository extends ReactiveMongoRepository<Course, String> {
+
+    // Published courses (most common query)
+    @Query(value = "{'isPublished': true, 'status': 'PUBLISHED'}", fields = CourseRepository.SUMMARY_FIELDS)
+    Flux<CourseSummary> findPublishedCourses(Pageable pageable);
+
+    // Search queries with text indexing
+    @Query(value = "{'$and': [" +
+           "{'$or': [" +
+           "{'title': {'$regex': ?0, '$options': 'i'}}," +
+           "{'description': {'$regex': ?0, '$options': 'i'}}," +
+           "{'skills': {'$regex': ?0, '$options': 'i'}}" +
+           "]}," +
+           "{'isPublished': true}," +
+           "{'status': 'PUBLISHED'}" +
+           "]}", fields = CourseRepository.SUMMARY_FIELDS)
+    Flux<CourseSummary> searchPublishedCourses(String searchTerm, Pageable pageable);
+
+    // Summaries for a page of ids ranked by the search index
+    @Query(value = "{'_id': {'$in': ?0}}", fields = CourseRepository.SUMMARY_FIELDS)
+    Flux<CourseSummary> findSummariesByIdIn(Collection<String> ids);
+}
@@ -0,0 +1,24 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.model.Review;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Review Repository
+ * Served by the course_user_idx and course_recent_idx indexes
+ */
+@Repository
+public interface ReviewRepository extends MongoRepository<Review, String> {
+
+    Optional<Review> findByCourseIdAndUserId(String courseId, String userId);
+
+    // Newest first (course_recent_idx)
+    Page<Review> findByCourseId(String courseId, Pageable pageable);
+
+    long countByCourseId(String courseId);
+}
@@ -24,6 +24,14 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Boolean existsByEmail(String email);
 
+    // Principal lookup reading only the fields needed for authentication
+    @Query(value = "{'email': ?0}", fields = "{'email': 1, 'role': 1, 'status': 1}")
+    Optional<User> findPrincipalByEmail(String email);
+
+    // Users whose tokens have been revoked at least once (stateless auth mode)
+    @Query(value = "{'tokenEpoch': {'$gt': 0}}", fields = "{'tokenEpoch': 1}")
+    List<User> findWithTokenEpoch();
+
     // Role-based queries with optimized indexes
     List<User> findByRole(UserRole role);
 
@@ -0,0 +1,264 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bitset facet index over the published catalog
+ * Holds an immutable snapshot where every course has an ordinal and every facet
+ * value (category, level, price range, free/paid) is a bitset of ordinals.
+ * Counting is bitset intersection plus popcount, with no database access.
+ * The snapshot is rebuilt in memory whenever a course changes.
+ */
+@Component
+public class CourseFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseFacetIndex.class);
+
+    // Upper bounds of the price ranges; the last range is open-ended
+    private static final double[] PRICE_BOUNDS = {25, 50, 100, 200};
+    private static final String[] PRICE_LABELS = {"0-25", "25-50", "50-100", "100-200", "200+"};
+
+    @Autowired
+    private PublishedCourseLoader publishedCourseLoader;
+
+    private final Map<String, FacetDoc> docs = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+
+    /**
+     * Build the snapshot from MongoDB at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        docs.clear();
+        try {
+            publishedCourseLoader.forEachPublished(course -> docs.put(course.getId(), new FacetDoc(course)));
+        } catch (Exception e) {
+            logger.error("Course facet index rebuild failed: {}", e.getMessage());
+            return;
+        }
+        snapshot = new Snapshot(docs.values());
+        logger.info("Course facet index built with {} courses", docs.size());
+    }
+
+    /**
+     * Refresh the snapshot when a course changes
+     */
+    @EventListener
+    public synchronized void onCourseEvent(CourseEvent event) {
+        Course course = event.getCourse();
+        if (PublishedCourseLoader.isPublished(course)) {
+            docs.put(course.getId(), new FacetDoc(course));
+        } else if (docs.remove(course.getId()) == null) {
+            return;
+        }
+        snapshot = new Snapshot(docs.values());
+    }
+
+    /**
+     * Count facets for a search
+     *
+     * @param candidateIds course ids matching the text query, or null for the whole catalog
+     */
+    public FacetCounts count(Collection<String> candidateIds, String category, CourseLevel level,
+                             Double minPrice, Double maxPrice) {
+        Snapshot current = snapshot;
+        long[] base = candidateIds == null ? current.all : current.bitsOf(candidateIds);
+
+        long[] categoryFilter = category == null ? null
+                : current.categories.getOrDefault(category, current.none);
+        long[] levelFilter = level == null ? null
+                : current.levels.getOrDefault(level, current.none);
+        long[] priceFilter = minPrice == null && maxPrice == null ? null
+                : current.priceRange(minPrice, maxPrice);
+
+        FacetCounts counts = new FacetCounts();
+        counts.setTotal(cardinality(and(and(and(base, categoryFilter), levelFilter), priceFilter)));
+
+        // Each dimension is counted without its own filter
+        long[] forCategories = and(and(base, levelFilter), priceFilter);
+        Map<String, Long> categories = new LinkedHashMap<>();
+        current.categories.forEach((name, bits) -> categories.put(name, andCount(forCategories, bits)));
+        counts.setCategories(categories);
+
+        long[] forLevels = and(and(base, categoryFilter), priceFilter);
+        Map<String, Long> levels = new LinkedHashMap<>();
+        for (CourseLevel value : CourseLevel.values()) {
+            long[] bits = current.levels.get(value);
+            levels.put(value.name(), bits == null ? 0 : andCount(forLevels, bits));
+        }
+        counts.setLevels(levels);
+
+        long[] forPrices = and(and(base, categoryFilter), levelFilter);
+        Map<String, Long> priceRanges = new LinkedHashMap<>();
+        for (int i = 0; i < PRICE_LABELS.length; i++) {
+            priceRanges.put(PRICE_LABELS[i], andCount(forPrices, current.priceBuckets[i]));
+        }
+        counts.setPriceRanges(priceRanges);
+        counts.setFree(andCount(forPrices, current.free));
+        counts.setPaid(andCount(forPrices, current.paid));
+        return counts;
+    }
+
+    /**
+     * Keep the ranked ids that pass the structured filters
+     * Filtering is done against the snapshot bitsets, so the whole ranked list is checked without a query.
+     *
+     * @return the matching ids, rank order preserved
+     */
+    public List<String> retain(List<String> rankedIds, String category, CourseLevel level,
+                               Double minPrice, Double maxPrice) {
+        Snapshot current = snapshot;
+        long[] allowed = current.all;
+        if (category != null) {
+            allowed = and(allowed, current.categories.getOrDefault(category, current.none));
+        }
+        if (level != null) {
+            allowed = and(allowed, current.levels.getOrDefault(level, current.none));
+        }
+        if (minPrice != null || maxPrice != null) {
+            allowed = and(allowed, current.priceRange(minPrice, maxPrice));
+        }
+
+        List<String> retained = new ArrayList<>();
+        for (String courseId : rankedIds) {
+            Integer ordinal = current.ordinals.get(courseId);
+            if (ordinal != null && (allowed[ordinal >>> 6] & (1L << (ordinal & 63))) != 0) {
+                retained.add(courseId);
+            }
+        }
+        return retained;
+    }
+
+    // Returns a new bitset; a null filter means "no restriction"
+    private static long[] and(long[] bits, long[] filter) {
+        if (filter == null) {
+            return bits;
+        }
+        long[] result = new long[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            result[i] = bits[i] & filter[i];
+        }
+        return result;
+    }
+
+    private static long andCount(long[] a, long[] b) {
+        long count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static long cardinality(long[] bits) {
+        long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int priceBucket(double price) {
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (price < PRICE_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return PRICE_BOUNDS.length;
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final double[] prices;
+        private final long[] all;
+        private final long[] none;
+        private final Map<String, long[]> categories = new TreeMap<>();
+        private final Map<CourseLevel, long[]> levels = new EnumMap<>(CourseLevel.class);
+        private final long[][] priceBuckets = new long[PRICE_LABELS.length][];
+        private final long[] free;
+        private final long[] paid;
+
+        private Snapshot(Collection<FacetDoc> docs) {
+            int words = Math.max(1, (docs.size() + 63) >>> 6);
+            prices = new double[docs.size()];
+            all = new long[words];
+            none = new long[words];
+            free = new long[words];
+            paid = new long[words];
+            for (int i = 0; i < priceBuckets.length; i++) {
+                priceBuckets[i] = new long[words];
+            }
+
+            int ordinal = 0;
+            for (FacetDoc doc : docs) {
+                ordinals.put(doc.id, ordinal);
+                prices[ordinal] = doc.price;
+                set(all, ordinal);
+                if (doc.category != null) {
+                    set(categories.computeIfAbsent(doc.category, c -> new long[words]), ordinal);
+                }
+                if (doc.level != null) {
+                    set(levels.computeIfAbsent(doc.level, l -> new long[words]), ordinal);
+                }
+                set(priceBuckets[priceBucket(doc.price)], ordinal);
+                set(doc.price > 0 ? paid : free, ordinal);
+                ordinal++;
+            }
+        }
+
+        private long[] bitsOf(Collection<String> courseIds) {
+            long[] bits = new long[all.length];
+            for (String courseId : courseIds) {
+                Integer ordinal = ordinals.get(courseId);
+                if (ordinal != null) {
+                    set(bits, ordinal);
+                }
+            }
+            return bits;
+        }
+
+        private long[] priceRange(Double minPrice, Double maxPrice) {
+            long[] bits = new long[all.length];
+            for (int i = 0; i < prices.length; i++) {
+                if ((minPrice == null || prices[i] >= minPrice) && (maxPrice == null || prices[i] <= maxPrice)) {
+                    set(bits, i);
+                }
+            }
+            return bits;
+        }
+
+        private static void set(long[] bits, int ordinal) {
+            bits[ordinal >>> 6] |= 1L << (ordinal & 63);
+        }
+    }
+
+    private static final class FacetDoc {
+        private final String id;
+        private final String category;
+        private final CourseLevel level;
+        private final double price;
+
+        private FacetDoc(Course course) {
+            this.id = course.getId();
+            this.category = course.getCategory();
+            this.level = course.getLevel();
+            this.price = course.getPrice() == null ? 0.0 : course.getPrice();
+        }
+    }
+}
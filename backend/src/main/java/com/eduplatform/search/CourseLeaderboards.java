@@ -0,0 +1,255 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseEventRecorder;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Top-rated and most-enrolled leaderboards over the published catalog
+ * Every published course sits in a sorted skip list per metric, both catalog-wide and
+ * within its category, so the top N is a walk of the first N entries. Enrollment and
+ * rating changes move a single entry; a periodic rebuild from MongoDB corrects any drift.
+ * Reads never query or sort in MongoDB. The rebuild scans without holding the lock;
+ * events arriving meanwhile update the live boards and are recorded, then replayed onto
+ * the fresh boards for every course the scan read before the event arrived.
+ */
+@Component
+public class CourseLeaderboards {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseLeaderboards.class);
+
+    public enum Metric {
+        TOP_RATED,
+        MOST_ENROLLED
+    }
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+            .comparingDouble((Entry e) -> e.rating).reversed()
+            .thenComparing(Comparator.comparingLong((Entry e) -> e.enrollments).reversed())
+            .thenComparing(e -> e.courseId);
+
+    private static final Comparator<Entry> BY_ENROLLMENTS = Comparator
+            .comparingLong((Entry e) -> e.enrollments).reversed()
+            .thenComparing(Comparator.comparingDouble((Entry e) -> e.rating).reversed())
+            .thenComparing(e -> e.courseId);
+
+    @Autowired
+    private PublishedCourseLoader publishedCourseLoader;
+
+    private volatile Boards boards = new Boards();
+    // Guarded by this
+    private final CourseEventRecorder recorder = new CourseEventRecorder();
+
+    /**
+     * Build the leaderboards at startup and periodically after that
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${leaderboards.rebuild-interval-ms:900000}",
+            initialDelayString = "${leaderboards.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (!recorder.begin()) {
+                return;
+            }
+        }
+        Boards fresh = new Boards();
+        try {
+            publishedCourseLoader.forEachPublished(course -> {
+                fresh.put(new Entry(course));
+                recorder.read(course.getId());
+            });
+        } catch (Exception e) {
+            logger.error("Course leaderboard rebuild failed: {}", e.getMessage());
+            synchronized (this) {
+                recorder.abort();
+            }
+            return;
+        }
+        synchronized (this) {
+            int replayed = recorder.replay(event -> apply(fresh, event), event -> apply(fresh, event));
+            boards = fresh;
+            logger.info("Course leaderboards built with {} courses, {} events replayed",
+                    fresh.entries.size(), replayed);
+        }
+    }
+
+    /**
+     * Add, replace or remove a course depending on whether it is published
+     */
+    @EventListener
+    public synchronized void onCourseEvent(CourseEvent event) {
+        apply(boards, event);
+        recorder.record(event);
+    }
+
+    /**
+     * Move a course after its enrollment count or rating changed
+     */
+    @EventListener
+    public synchronized void onMetricsEvent(CourseMetricsEvent event) {
+        apply(boards, event);
+        recorder.record(event);
+    }
+
+    private static void apply(Boards target, CourseEvent event) {
+        target.remove(event.getCourseId());
+        if (PublishedCourseLoader.isPublished(event.getCourse())) {
+            target.put(new Entry(event.getCourse()));
+        }
+    }
+
+    private static void apply(Boards target, CourseMetricsEvent event) {
+        Entry entry = target.entries.get(event.getCourseId());
+        if (entry == null) {
+            return;
+        }
+        target.remove(entry.courseId);
+        target.put(entry.with(event));
+    }
+
+    /**
+     * Top courses for a metric, optionally within one category
+     */
+    public List<CourseSummary> top(Metric metric, String category, int limit) {
+        ConcurrentSkipListSet<Entry> board = boards.board(metric, category);
+        List<CourseSummary> results = new ArrayList<>(Math.max(0, limit));
+        if (board == null) {
+            return results;
+        }
+        Iterator<Entry> entries = board.iterator();
+        while (entries.hasNext() && results.size() < limit) {
+            results.add(entries.next().summary);
+        }
+        return results;
+    }
+
+    private static final class Boards {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<Metric, ConcurrentSkipListSet<Entry>> catalog = new EnumMap<>(Metric.class);
+        private final Map<Metric, ConcurrentHashMap<String, ConcurrentSkipListSet<Entry>>> categories =
+                new EnumMap<>(Metric.class);
+
+        private Boards() {
+            for (Metric metric : Metric.values()) {
+                catalog.put(metric, new ConcurrentSkipListSet<>(comparator(metric)));
+                categories.put(metric, new ConcurrentHashMap<>());
+            }
+        }
+
+        private ConcurrentSkipListSet<Entry> board(Metric metric, String category) {
+            return category == null ? catalog.get(metric) : categories.get(metric).get(category);
+        }
+
+        private void put(Entry entry) {
+            entries.put(entry.courseId, entry);
+            for (Metric metric : Metric.values()) {
+                catalog.get(metric).add(entry);
+                if (entry.category != null) {
+                    categories.get(metric)
+                            .computeIfAbsent(entry.category, c -> new ConcurrentSkipListSet<>(comparator(metric)))
+                            .add(entry);
+                }
+            }
+        }
+
+        private void remove(String courseId) {
+            Entry entry = entries.remove(courseId);
+            if (entry == null) {
+                return;
+            }
+            for (Metric metric : Metric.values()) {
+                catalog.get(metric).remove(entry);
+                ConcurrentSkipListSet<Entry> category = board(metric, entry.category);
+                if (category != null) {
+                    category.remove(entry);
+                }
+            }
+        }
+
+        private static Comparator<Entry> comparator(Metric metric) {
+            return metric == Metric.TOP_RATED ? BY_RATING : BY_ENROLLMENTS;
+        }
+    }
+
+    // Immutable; a metric change replaces the entry so the sets never see a key change
+    private static final class Entry {
+        private final String courseId;
+        private final String category;
+        private final double rating;
+        private final long enrollments;
+        private final CourseSummary summary;
+
+        private Entry(Course course) {
+            this.courseId = course.getId();
+            this.category = course.getCategory();
+            this.rating = course.getRating() == null ? 0.0 : course.getRating();
+            this.enrollments = course.getEnrollmentCount() == null ? 0 : course.getEnrollmentCount();
+            this.summary = new CourseSummary();
+            summary.setId(course.getId());
+            summary.setTitle(course.getTitle());
+            summary.setInstructorId(course.getInstructorId());
+            summary.setInstructorName(course.getInstructorName());
+            summary.setCategory(course.getCategory());
+            summary.setLevel(course.getLevel());
+            summary.setDuration(course.getDuration());
+            summary.setPrice(course.getPrice());
+            summary.setRating(rating);
+            summary.setRatingCount(course.getRatingCount());
+            summary.setEnrollmentCount((int) enrollments);
+            summary.setImageUrl(course.getImageUrl());
+            summary.setSkills(course.getSkills());
+            summary.setStatus(course.getStatus());
+            summary.setIsPublished(course.getIsPublished());
+            summary.setCreatedAt(course.getCreatedAt());
+        }
+
+        private Entry(Entry previous, double rating, Integer ratingCount, long enrollments) {
+            this.courseId = previous.courseId;
+            this.category = previous.category;
+            this.rating = rating;
+            this.enrollments = enrollments;
+            CourseSummary from = previous.summary;
+            this.summary = new CourseSummary();
+            summary.setId(from.getId());
+            summary.setTitle(from.getTitle());
+            summary.setInstructorId(from.getInstructorId());
+            summary.setInstructorName(from.getInstructorName());
+            summary.setCategory(from.getCategory());
+            summary.setLevel(from.getLevel());
+            summary.setDuration(from.getDuration());
+            summary.setPrice(from.getPrice());
+            summary.setRating(rating);
+            summary.setRatingCount(ratingCount);
+            summary.setEnrollmentCount((int) enrollments);
+            summary.setImageUrl(from.getImageUrl());
+            summary.setSkills(from.getSkills());
+            summary.setStatus(from.getStatus());
+            summary.setIsPublished(from.getIsPublished());
+            summary.setCreatedAt(from.getCreatedAt());
+        }
+
+        private Entry with(CourseMetricsEvent event) {
+            double newRating = event.getRating() == null ? rating : event.getRating();
+            Integer newCount = event.getRatingCount() == null ? summary.getRatingCount() : event.getRatingCount();
+            return new Entry(this, newRating, newCount, Math.max(0, enrollments + event.getEnrollmentDelta()));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over the published catalog
+ * Maps lower-cased tokens from title, skills, category and description to posting
+ * lists of weighted course ids. Every query token must match; the last token also
+ * matches as a prefix so partially typed words still find results. Results are
+ * ranked by tf-idf style score, then by enrollment count.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float SKILL_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Upper bound on terms a single prefix may expand to
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    @Autowired
+    private PublishedCourseLoader publishedCourseLoader;
+
+    @Value("${search.max-results:1000}")
+    private int maxResults;
+
+    private volatile IndexState state = new IndexState();
+    private volatile boolean ready;
+
+    /**
+     * Rebuild the index from MongoDB at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        IndexState fresh = new IndexState();
+        try {
+            publishedCourseLoader.forEachPublished(fresh::add);
+        } catch (Exception e) {
+            logger.error("Course search index rebuild failed: {}", e.getMessage());
+            return;
+        }
+        state = fresh;
+        ready = true;
+        logger.info("Course search index built with {} courses and {} terms",
+                fresh.docs.size(), fresh.postings.size());
+    }
+
+    /**
+     * Keep the index in sync with course changes
+     */
+    @EventListener
+    public void onCourseEvent(CourseEvent event) {
+        index(event.getCourse());
+    }
+
+    /**
+     * Add, replace or remove a course depending on whether it is published
+     */
+    public synchronized void index(Course course) {
+        state.remove(course.getId());
+        if (PublishedCourseLoader.isPublished(course)) {
+            state.add(course);
+        }
+    }
+
+    /**
+     * Whether the startup rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search published courses
+     *
+     * @return matching course ids, best match first, at most search.max-results of them
+     */
+    public List<String> search(String query) {
+        return search(query, maxResults);
+    }
+
+    /**
+     * Search published courses, keeping up to the given number of ranked ids
+     *
+     * @return matching course ids, best match first
+     */
+    public List<String> search(String query, int limit) {
+        IndexState current = state;
+        Map<String, Float> scores = matchScores(current, query);
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((courseId, score) -> {
+            Doc doc = current.docs.get(courseId);
+            if (doc != null) {
+                hits.add(new Hit(courseId, score, doc.popularity));
+            }
+        });
+
+        hits.sort(Comparator.comparingDouble((Hit h) -> h.score).reversed()
+                .thenComparing(Comparator.comparingInt((Hit h) -> h.popularity).reversed())
+                .thenComparing(h -> h.courseId));
+
+        List<String> ids = new ArrayList<>(Math.min(hits.size(), limit));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            ids.add(hits.get(i).courseId);
+        }
+        return ids;
+    }
+
+    /**
+     * Every published course matching the query, unranked and uncapped
+     * Used for counts, which must not be cut off at search.max-results.
+     */
+    public Set<String> matches(String query) {
+        IndexState current = state;
+        Set<String> ids = new HashSet<>();
+        matchScores(current, query).keySet().forEach(courseId -> {
+            if (current.docs.containsKey(courseId)) {
+                ids.add(courseId);
+            }
+        });
+        return ids;
+    }
+
+    // Courses matching every query token, with their summed scores
+    private static Map<String, Float> matchScores(IndexState current, String query) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        List<Map<String, Float>> perToken = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean last = i == tokens.size() - 1;
+            Map<String, Float> scores = last
+                    ? current.prefixScores(tokens.get(i))
+                    : current.exactScores(tokens.get(i));
+            if (scores.isEmpty()) {
+                return new HashMap<>();
+            }
+            perToken.add(scores);
+        }
+
+        // Intersect starting from the smallest posting list
+        perToken.sort(Comparator.comparingInt(Map::size));
+        Map<String, Float> smallest = perToken.get(0);
+        Map<String, Float> matched = new HashMap<>();
+        for (Map.Entry<String, Float> entry : smallest.entrySet()) {
+            float score = entry.getValue();
+            boolean matchesAll = true;
+            for (int i = 1; i < perToken.size() && matchesAll; i++) {
+                Float other = perToken.get(i).get(entry.getKey());
+                if (other == null) {
+                    matchesAll = false;
+                } else {
+                    score += other;
+                }
+            }
+            if (matchesAll) {
+                matched.put(entry.getKey(), score);
+            }
+        }
+        return matched;
+    }
+
+    private static final class IndexState {
+        // term -> (courseId -> weight); sorted so prefixes map to a contiguous range
+        private final ConcurrentSkipListMap<String, ConcurrentHashMap<String, Float>> postings =
+                new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<String, Doc> docs = new ConcurrentHashMap<>();
+
+        private void add(Course course) {
+            Map<String, Float> raw = new HashMap<>();
+            accumulate(raw, course.getTitle(), TITLE_WEIGHT);
+            accumulate(raw, course.getCategory(), CATEGORY_WEIGHT);
+            accumulate(raw, course.getDescription(), DESCRIPTION_WEIGHT);
+            if (course.getSkills() != null) {
+                for (String skill : course.getSkills()) {
+                    accumulate(raw, skill, SKILL_WEIGHT);
+                }
+            }
+
+            Map<String, Float> terms = new HashMap<>(raw.size());
+            raw.forEach((term, weight) -> terms.put(term, (float) (1.0 + Math.log(weight))));
+
+            int popularity = course.getEnrollmentCount() == null ? 0 : course.getEnrollmentCount();
+            docs.put(course.getId(), new Doc(terms, popularity));
+            terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(course.getId(), weight));
+        }
+
+        private void remove(String courseId) {
+            Doc doc = docs.remove(courseId);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms.keySet()) {
+                ConcurrentHashMap<String, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(courseId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term, posting);
+                    }
+                }
+            }
+        }
+
+        private Map<String, Float> exactScores(String term) {
+            Map<String, Float> scores = new HashMap<>();
+            ConcurrentHashMap<String, Float> posting = postings.get(term);
+            if (posting != null) {
+                float idf = idf(posting.size());
+                posting.forEach((courseId, weight) -> scores.put(courseId, weight * idf));
+            }
+            return scores;
+        }
+
+        private Map<String, Float> prefixScores(String prefix) {
+            Map<String, Float> scores = new HashMap<>();
+            int expansions = 0;
+            for (Map.Entry<String, ConcurrentHashMap<String, Float>> entry
+                    : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                // Exact matches outrank completions of the prefix
+                float idf = idf(entry.getValue().size()) * (entry.getKey().equals(prefix) ? 1.0f : 0.5f);
+                entry.getValue().forEach((courseId, weight) -> scores.merge(courseId, weight * idf, Math::max));
+            }
+            return scores;
+        }
+
+        private float idf(int documentFrequency) {
+            return (float) Math.log(1.0 + (double) Math.max(1, docs.size()) / documentFrequency);
+        }
+
+        private static void accumulate(Map<String, Float> terms, String text, float weight) {
+            for (String token : Tokenizer.tokenize(text)) {
+                terms.merge(token, weight, Float::sum);
+            }
+        }
+    }
+
+    private static final class Doc {
+        private final Map<String, Float> terms;
+        private final int popularity;
+
+        private Doc(Map<String, Float> terms, int popularity) {
+            this.terms = terms;
+            this.popularity = popularity;
+        }
+    }
+
+    private static final class Hit {
+        private final String courseId;
+        private final float score;
+        private final int popularity;
+
+        private Hit(String courseId, float score, int popularity) {
+            this.courseId = courseId;
+            this.score = score;
+            this.popularity = popularity;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseEventRecorder;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typeahead suggestions over published course titles, categories and skills
+ * Each distinct phrase is stored once in a trie under every word start of the phrase
+ * ("advanced java" is reachable from "adv" and "ja"). Paths stop at MAX_DEPTH characters,
+ * so memory grows linearly with phrase length. Phrase weight is the sum of its courses'
+ * popularity (enrollments and rating), and every trie node keeps the heaviest weight
+ * below it, so the top-k for a prefix is found best-first without scanning the range.
+ * Enrollment and rating changes adjust the weights of the course's phrases. A rebuild
+ * fills a fresh index without holding the lock and swaps it in, so readers always see
+ * a complete index; events arriving during the scan update the live index and are
+ * replayed onto the fresh one for every course the scan read before they arrived.
+ */
+@Component
+public class CourseSuggester {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSuggester.class);
+
+    // Longer prefixes walk this deep and then check the phrase itself
+    private static final int MAX_DEPTH = 32;
+
+    @Autowired
+    private PublishedCourseLoader publishedCourseLoader;
+
+    private volatile Index index = new Index();
+    // Guarded by this
+    private final CourseEventRecorder recorder = new CourseEventRecorder();
+
+    /**
+     * Build suggestions from MongoDB at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (!recorder.begin()) {
+                return;
+            }
+        }
+        Index fresh = new Index();
+        try {
+            publishedCourseLoader.forEachPublished(course -> {
+                fresh.add(course);
+                recorder.read(course.getId());
+            });
+        } catch (Exception e) {
+            logger.error("Course suggestion rebuild failed: {}", e.getMessage());
+            synchronized (this) {
+                recorder.abort();
+            }
+            return;
+        }
+        synchronized (this) {
+            recorder.replay(event -> apply(fresh, event), event -> apply(fresh, event));
+            index = fresh;
+            logger.info("Course suggestions built with {} phrases", fresh.phrases.size());
+        }
+    }
+
+    /**
+     * Keep suggestions in sync with publish, update and archive
+     */
+    @EventListener
+    public synchronized void onCourseEvent(CourseEvent event) {
+        apply(index, event);
+        recorder.record(event);
+    }
+
+    /**
+     * Re-weight a course's phrases after its enrollment count or rating changed
+     */
+    @EventListener
+    public synchronized void onMetricsEvent(CourseMetricsEvent event) {
+        apply(index, event);
+        recorder.record(event);
+    }
+
+    private static void apply(Index target, CourseEvent event) {
+        target.remove(event.getCourseId());
+        if (PublishedCourseLoader.isPublished(event.getCourse())) {
+            target.add(event.getCourse());
+        }
+    }
+
+    private static void apply(Index target, CourseMetricsEvent event) {
+        target.reweigh(event);
+    }
+
+    /**
+     * Top completions for a prefix, heaviest first
+     * Nodes and phrases are queued with the weight read when they were reached, so the
+     * queue stays consistent while writers change weights.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = Tokenizer.normalize(prefix);
+        List<Suggestion> results = new ArrayList<>();
+        if (normalized.isEmpty() || limit <= 0) {
+            return results;
+        }
+        Node start = index.root.find(normalized);
+        if (start == null) {
+            return results;
+        }
+        // Past MAX_DEPTH the trie no longer tells phrases apart, so each one is checked
+        boolean verify = normalized.length() > MAX_DEPTH;
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(start.max, start, null));
+        Set<Phrase> seen = new HashSet<>();
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate next = queue.poll();
+            if (next.phrase != null) {
+                if (seen.add(next.phrase) && (!verify || next.phrase.matches(normalized))) {
+                    results.add(new Suggestion(next.phrase.text, next.phrase.type));
+                }
+                continue;
+            }
+            for (Phrase phrase : next.node.phrases) {
+                queue.add(new Candidate(phrase.weight, null, phrase));
+            }
+            for (Node child : next.node.children.values()) {
+                queue.add(new Candidate(child.max, child, null));
+            }
+        }
+        return results;
+    }
+
+    private static void collect(Map<String, String> types, Map<String, String> texts, String text, String type) {
+        String normalized = Tokenizer.normalize(text);
+        if (!normalized.isEmpty() && !types.containsKey(normalized)) {
+            types.put(normalized, type);
+            texts.put(normalized, text.trim());
+        }
+    }
+
+    /**
+     * Suffixes of the phrase starting at each word boundary
+     */
+    private static List<String> wordStarts(String normalized) {
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordChar = Character.isLetterOrDigit(normalized.charAt(i));
+            boolean boundary = i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1));
+            if (wordChar && boundary) {
+                suffixes.add(normalized.substring(i));
+            }
+        }
+        return suffixes;
+    }
+
+    private static double popularity(long enrollments, double rating) {
+        return 1.0 + Math.log1p(enrollments) + rating;
+    }
+
+    // Written only under the suggester's lock (or before it is published); read without locking
+    private static final class Index {
+        private final Node root = new Node();
+        private final Map<String, Phrase> phrases = new HashMap<>();
+        private final Map<String, List<Phrase>> phrasesByCourse = new HashMap<>();
+        // courseId -> { enrollments, rating } behind its weight
+        private final Map<String, double[]> popularity = new HashMap<>();
+
+        private void add(Course course) {
+            // One phrase per distinct text; a title wins over a category or skill with the same text
+            Map<String, String> courseTypes = new LinkedHashMap<>();
+            Map<String, String> courseTexts = new HashMap<>();
+            collect(courseTypes, courseTexts, course.getTitle(), "title");
+            collect(courseTypes, courseTexts, course.getCategory(), "category");
+            if (course.getSkills() != null) {
+                course.getSkills().forEach(skill -> collect(courseTypes, courseTexts, skill, "skill"));
+            }
+
+            double[] inputs = {
+                    course.getEnrollmentCount() == null ? 0 : course.getEnrollmentCount(),
+                    course.getRating() == null ? 0.0 : course.getRating()};
+            double weight = popularity((long) inputs[0], inputs[1]);
+            List<Phrase> added = new ArrayList<>(courseTypes.size());
+            courseTypes.forEach((normalized, type) -> {
+                Phrase phrase = phrases.get(normalized);
+                boolean created = phrase == null;
+                if (created) {
+                    phrase = new Phrase(normalized, courseTexts.get(normalized), type);
+                    phrases.put(normalized, phrase);
+                }
+                phrase.courseWeights.put(course.getId(), weight);
+                phrase.weight += weight;
+                if (created) {
+                    for (String suffix : wordStarts(normalized)) {
+                        root.insert(suffix, phrase);
+                    }
+                } else {
+                    refresh(phrase);
+                }
+                added.add(phrase);
+            });
+            phrasesByCourse.put(course.getId(), added);
+            popularity.put(course.getId(), inputs);
+        }
+
+        private void remove(String courseId) {
+            popularity.remove(courseId);
+            List<Phrase> coursePhrases = phrasesByCourse.remove(courseId);
+            if (coursePhrases == null) {
+                return;
+            }
+            for (Phrase phrase : coursePhrases) {
+                Double weight = phrase.courseWeights.remove(courseId);
+                if (weight != null) {
+                    phrase.weight -= weight;
+                }
+                if (phrase.courseWeights.isEmpty()) {
+                    phrases.remove(phrase.key);
+                    for (String suffix : wordStarts(phrase.key)) {
+                        root.delete(suffix, phrase);
+                    }
+                } else {
+                    refresh(phrase);
+                }
+            }
+        }
+
+        private void reweigh(CourseMetricsEvent event) {
+            double[] inputs = popularity.get(event.getCourseId());
+            if (inputs == null) {
+                return;
+            }
+            inputs[0] = Math.max(0, inputs[0] + event.getEnrollmentDelta());
+            if (event.getRating() != null) {
+                inputs[1] = event.getRating();
+            }
+            double weight = popularity((long) inputs[0], inputs[1]);
+            for (Phrase phrase : phrasesByCourse.getOrDefault(event.getCourseId(), List.of())) {
+                Double previous = phrase.courseWeights.put(event.getCourseId(), weight);
+                phrase.weight += weight - (previous == null ? 0.0 : previous);
+                refresh(phrase);
+            }
+        }
+
+        // Recompute the node maxima on every path to the phrase after its weight changed
+        private void refresh(Phrase phrase) {
+            for (String suffix : wordStarts(phrase.key)) {
+                root.refresh(suffix);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private final Set<Phrase> phrases = ConcurrentHashMap.newKeySet();
+        // Heaviest phrase weight in this subtree
+        private volatile double max;
+
+        private Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && i < MAX_DEPTH && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        private void insert(String suffix, Phrase phrase) {
+            List<Node> path = path(suffix, true);
+            path.get(path.size() - 1).phrases.add(phrase);
+            update(path);
+        }
+
+        private void delete(String suffix, Phrase phrase) {
+            List<Node> path = path(suffix, false);
+            if (path.size() <= depth(suffix)) {
+                return;
+            }
+            path.get(path.size() - 1).phrases.remove(phrase);
+            // Unlink nodes left with nothing below them
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                if (!node.phrases.isEmpty() || !node.children.isEmpty()) {
+                    break;
+                }
+                path.get(i - 1).children.remove(suffix.charAt(i - 1), node);
+            }
+            update(path);
+        }
+
+        private void refresh(String suffix) {
+            List<Node> path = path(suffix, false);
+            if (path.size() > depth(suffix)) {
+                update(path);
+            }
+        }
+
+        // Nodes from this one down to the end of the suffix, stopping early if one is missing
+        private List<Node> path(String suffix, boolean create) {
+            int depth = depth(suffix);
+            List<Node> path = new ArrayList<>(depth + 1);
+            Node node = this;
+            path.add(node);
+            for (int i = 0; i < depth; i++) {
+                node = create
+                        ? node.children.computeIfAbsent(suffix.charAt(i), c -> new Node())
+                        : node.children.get(suffix.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                path.add(node);
+            }
+            return path;
+        }
+
+        // Bottom-up; once a node's maximum is unchanged, its ancestors are too
+        private static void update(List<Node> path) {
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                double max = 0.0;
+                for (Phrase phrase : node.phrases) {
+                    max = Math.max(max, phrase.weight);
+                }
+                for (Node child : node.children.values()) {
+                    max = Math.max(max, child.max);
+                }
+                if (max == node.max && i < path.size() - 1) {
+                    return;
+                }
+                node.max = max;
+            }
+        }
+
+        private static int depth(String suffix) {
+            return Math.min(suffix.length(), MAX_DEPTH);
+        }
+    }
+
+    private static final class Phrase {
+        private final String key;
+        private final String text;
+        private final String type;
+        private final Map<String, Double> courseWeights = new HashMap<>();
+        // Written under the suggester's lock; suggest() reads it once per visit
+        private volatile double weight;
+
+        private Phrase(String key, String text, String type) {
+            this.key = key;
+            this.text = text;
+            this.type = type;
+        }
+
+        private boolean matches(String prefix) {
+            for (String suffix : wordStarts(key)) {
+                if (suffix.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // A trie node or a phrase, ordered by the weight it had when queued, heaviest first
+    private static final class Candidate implements Comparable<Candidate> {
+        private final double weight;
+        private final Node node;
+        private final Phrase phrase;
+
+        private Candidate(double weight, Node node, Phrase phrase) {
+            this.weight = weight;
+            this.node = node;
+            this.phrase = phrase;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byWeight = Double.compare(other.weight, weight);
+            if (byWeight != 0) {
+                return byWeight;
+            }
+            // Phrases before nodes of equal weight, so ties resolve without expanding further
+            return Boolean.compare(phrase == null, other.phrase == null);
+        }
+    }
+
+    // Suggestion returned to clients
+    public static class Suggestion {
+        private final String text;
+        private final String type;
+
+        public Suggestion(String text, String type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        public String getText() { return text; }
+
+        public String getType() { return type; }
+    }
+}
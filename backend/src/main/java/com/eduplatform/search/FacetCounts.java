@@ -0,0 +1,37 @@
+package com.eduplatform.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet counts for a catalog search
+ * Each dimension is counted with the filters of the other dimensions applied,
+ * so selecting a category still shows how many courses every other category has.
+ */
+public class FacetCounts {
+
+    private long total;
+    private Map<String, Long> categories = new LinkedHashMap<>();
+    private Map<String, Long> levels = new LinkedHashMap<>();
+    private Map<String, Long> priceRanges = new LinkedHashMap<>();
+    private long free;
+    private long paid;
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getCategories() { return categories; }
+    public void setCategories(Map<String, Long> categories) { this.categories = categories; }
+
+    public Map<String, Long> getLevels() { return levels; }
+    public void setLevels(Map<String, Long> levels) { this.levels = levels; }
+
+    public Map<String, Long> getPriceRanges() { return priceRanges; }
+    public void setPriceRanges(Map<String, Long> priceRanges) { this.priceRanges = priceRanges; }
+
+    public long getFree() { return free; }
+    public void setFree(long free) { this.free = free; }
+
+    public long getPaid() { return paid; }
+    public void setPaid(long paid) { this.paid = paid; }
+}
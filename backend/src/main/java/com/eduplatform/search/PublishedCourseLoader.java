@@ -0,0 +1,40 @@
+package com.eduplatform.search;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams the published catalog for rebuilding in-memory indexes
+ * Lesson bodies are never read since no index needs them
+ */
+@Component
+public class PublishedCourseLoader {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public void forEachPublished(Consumer<Course> consumer) {
+        Query query = Query.query(Criteria.where("isPublished").is(true).and("status").is(CourseStatus.PUBLISHED));
+        query.fields().exclude("lessons");
+        try (Stream<Course> courses = mongoTemplate.stream(query, Course.class)) {
+            courses.forEach(consumer);
+        }
+    }
+
+    /**
+     * Check whether a course belongs in the published catalog
+     */
+    public static boolean isPublished(Course course) {
+        return course != null
+                && Boolean.TRUE.equals(course.getIsPublished())
+                && course.getStatus() == CourseStatus.PUBLISHED;
+    }
+}
@@ -28,64 +28,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwtToken = null;
 
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
+        } else if (requestTokenHeader != null && !requestTokenHeader.isEmpty()) {
+            // Check if token is provided without Bearer prefix
+            jwtToken = requestTokenHeader;
+        }
+
+        // Verify the token once; signature and expiry are both checked here
+        VerifiedToken verifiedToken = null;
+        if (jwtToken != null) {
             try {
-                username = jwtUtil.getUsernameFromToken(jwtToken);
+                verifiedToken = jwtUtil.verifyToken(jwtToken);
             } catch (IllegalArgumentException e) {
                 logger.error("Unable to get JWT Token");
             } catch (Exception e) {
                 logger.error("JWT Token has expired or is invalid");
             }
-        } else {
-            // Check if token is provided without Bearer prefix
-            if (requestTokenHeader != null && !requestTokenHeader.isEmpty()) {
-                jwtToken = requestTokenHeader;
-                try {
-                    username = jwtUtil.getUsernameFromToken(jwtToken);
-                } catch (Exception e) {
-                    logger.error("JWT Token validation failed");
-                }
-            }
         }
 
-        // Once we get the token validate it and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Once the token is verified set authentication
+        if (verifiedToken != null && verifiedToken.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             try {
-                // Validate token
-                if (jwtUtil.validateToken(jwtToken)) {
-                    // Get user details
-                    var userOpt = userService.findByEmail(username);
-                    if (userOpt.isPresent()) {
-                        var user = userOpt.get();
-
-                        // Create UserDetails-like object
-                        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                                .username(user.getEmail())
-                                .password(user.getPassword())
-                                .authorities("ROLE_" + user.getRole().name())
-                                .build();
-
-                        // Create authentication token
-                        UsernamePasswordAuthenticationToken authToken = 
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                        // Set authentication in security context
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                UserDetails userDetails = resolveUserDetails(verifiedToken);
+                if (userDetails != null) {
+                    // Create authentication token
+                    UsernamePasswordAuthenticationToken authToken = 
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
                 logger.error("JWT Authentication failed: " + e.getMessage());
@@ -95,6 +86,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build user details for a verified token, or null if it must not authenticate
+     */
+    private UserDetails resolveUserDetails(VerifiedToken verifiedToken) {
+        // Stateless mode: role comes from the token, revocation from the in-memory epoch map
+        if (jwtUtil.isStatelessEnabled() && verifiedToken.getClaims().containsKey(JwtUtil.CLAIM_EPOCH)) {
+            String userId = verifiedToken.getClaim(JwtUtil.CLAIM_USER_ID, String.class);
+            String role = verifiedToken.getClaim(JwtUtil.CLAIM_ROLE, String.class);
+            Number epoch = verifiedToken.getClaim(JwtUtil.CLAIM_EPOCH, Number.class);
+            if (userId == null || role == null || epoch == null
+                    || !tokenEpochRegistry.isCurrent(userId, epoch.intValue())) {
+                return null;
+            }
+            return buildUserDetails(verifiedToken.getSubject(), role);
+        }
+
+        // Resolve principal from cache, falling back to the users collection
+        String username = verifiedToken.getSubject();
+        PrincipalCache.CachedPrincipal principal = principalCache.get(username);
+        if (principal == null) {
+            principal = userService.findPrincipalByEmail(username)
+                    .map(principalCache::put)
+                    .orElse(null);
+        }
+        return principal == null ? null : buildUserDetails(principal.getEmail(), principal.getRole().name());
+    }
+
+    /**
+     * Create UserDetails-like object
+     */
+    private UserDetails buildUserDetails(String email, String role) {
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(email)
+                .password("")
+                .authorities("ROLE_" + role)
+                .build();
+    }
+
     /**
      * Skip filter for public endpoints
      */
@@ -1,15 +1,24 @@
 package com.eduplatform.security;
 
+import com.eduplatform.model.User;
+import com.eduplatform.util.ExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -19,29 +28,78 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    // Claims carried by tokens issued in stateless mode
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_EPOCH = "epoch";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens keyed by SHA-256 of the compact token, evicted at token expiry
+    private ExpiringCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new ExpiringCache<>(verifiedCacheMaxSize);
+    }
+
+    /**
+     * Verify token signature and expiry once and return its claims.
+     * Hot tokens are served from the verified-token cache without re-parsing.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = new VerifiedToken(parser.parseClaimsJws(token).getBody());
+        long ttlMillis = verified.getExpirationMillis() - System.currentTimeMillis();
+        verifiedTokens.put(tokenHash, verified, TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        return verified;
     }
 
     /**
      * Extract username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).getSubject();
     }
 
     /**
      * Extract expiration date from JWT token
      */
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return verifyToken(token).getExpiration();
     }
 
     /**
@@ -56,11 +114,7 @@ public class JwtUtil {
      * Extract all claims from JWT token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -79,6 +133,28 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Generate JWT token for a user.
+     * In stateless mode the token also carries user id, role and token epoch
+     * so requests can be authenticated without a database lookup.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        if (statelessEnabled) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_EPOCH, tokenEpochRegistry.currentEpoch(user.getId()));
+        }
+        return createToken(claims, user.getEmail());
+    }
+
+    /**
+     * Check whether stateless authentication mode is enabled
+     */
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
     /**
      * Generate JWT token with custom claims
      */
@@ -95,7 +171,7 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -112,10 +188,7 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            verifyToken(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -128,4 +201,17 @@ public class JwtUtil {
     public Long getExpirationTime() {
         return expiration;
     }
-}
\ No newline at end of file
+
+    /**
+     * Cache key for a token; the raw token itself is never retained
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
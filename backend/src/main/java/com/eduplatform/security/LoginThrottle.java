@@ -0,0 +1,205 @@
+package com.eduplatform.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login Throttle
+ * Per-email and per-IP token buckets checked before any BCrypt work is done.
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA),
+ * so acquiring is a lock-free CAS with no allocation for known keys.
+ * A bucket whose arrival time has passed is full and carries no state, so idle
+ * eviction simply drops it. Eviction only runs in the scheduled sweep, never on a
+ * login request. While the email table is full, unseen emails are throttled at the
+ * per-email rate keyed by client IP, so flooding it with junk keys does not switch
+ * per-account throttling off.
+ */
+@Component
+public class LoginThrottle {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${auth.login-throttle.email.burst:5}")
+    private int emailBurst;
+
+    @Value("${auth.login-throttle.email.per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${auth.login-throttle.ip.burst:20}")
+    private int ipBurst;
+
+    @Value("${auth.login-throttle.ip.per-minute:60}")
+    private int ipPerMinute;
+
+    private Limiter emailLimiter;
+    private Limiter ipLimiter;
+    // Per-email rate keyed by client IP, for emails the full email table cannot track
+    private Limiter overflowLimiter;
+
+    @PostConstruct
+    void init() {
+        emailLimiter = new Limiter("email", emailBurst, emailPerMinute);
+        ipLimiter = new Limiter("ip", ipBurst, ipPerMinute);
+        overflowLimiter = new Limiter("email-overflow", emailBurst, emailPerMinute);
+    }
+
+    /**
+     * Try to take one login attempt for the client IP and email.
+     *
+     * @return 0 if the attempt is allowed, otherwise the number of seconds to wait
+     */
+    public long tryAcquire(String email, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        Limiter accountLimiter = emailLimiter;
+        String accountKey = email == null ? null : email.toLowerCase(Locale.ROOT);
+        if (accountKey != null && !emailLimiter.canTrack(accountKey)) {
+            emailLimiter.overflow.increment();
+            accountLimiter = overflowLimiter;
+            accountKey = clientIp;
+        }
+
+        // A rejected account must not spend the IP's budget, so it is checked before either is taken
+        long waitNanos = accountLimiter.check(accountKey, now);
+        if (waitNanos == 0) {
+            waitNanos = ipLimiter.tryAcquire(clientIp, now);
+        }
+        if (waitNanos == 0) {
+            waitNanos = accountLimiter.tryAcquire(accountKey, now);
+            if (waitNanos > 0) {
+                // Lost a race for the account's last token after the check
+                ipLimiter.refund(clientIp);
+            }
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * Drop buckets that have refilled completely
+     */
+    @Scheduled(fixedDelayString = "${auth.login-throttle.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        emailLimiter.evictIdle(now);
+        ipLimiter.evictIdle(now);
+        overflowLimiter.evictIdle(now);
+    }
+
+    private final class Limiter {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private final Counter rejected;
+        private final Counter overflow;
+
+        private Limiter(String dimension, int burst, int perMinute) {
+            this.emissionInterval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.burstTolerance = emissionInterval * (Math.max(1, burst) - 1);
+            this.rejected = Counter.builder("auth.login.throttled")
+                    .description("Login attempts rejected by the throttle")
+                    .tag("key", dimension)
+                    .register(meterRegistry);
+            this.overflow = Counter.builder("auth.login.throttle.overflow")
+                    .description("Login attempts whose key did not fit in the full key table")
+                    .tag("key", dimension)
+                    .register(meterRegistry);
+            Gauge.builder("auth.login.throttle.keys", buckets, ConcurrentHashMap::size)
+                    .tag("key", dimension)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Whether the key has a bucket or there is room for one
+         */
+        private boolean canTrack(String key) {
+            return buckets.size() < maxKeys || buckets.containsKey(key);
+        }
+
+        /**
+         * @return 0 if an attempt would be allowed now, otherwise nanoseconds to wait; takes nothing
+         */
+        private long check(String key, long now) {
+            AtomicLong bucket = key == null ? null : buckets.get(key);
+            if (bucket == null) {
+                return 0;
+            }
+            long wait = wait(bucket.get(), now);
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            return 0;
+        }
+
+        /**
+         * @return 0 if allowed, otherwise nanoseconds until the next attempt is allowed
+         */
+        private long tryAcquire(String key, long now) {
+            if (key == null) {
+                return 0;
+            }
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys) {
+                    // Key table saturated until the next sweep: let the attempt through rather than lock
+                    // everyone out; the email side falls back to the overflow limiter before getting here
+                    overflow.increment();
+                    return 0;
+                }
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+
+            while (true) {
+                long arrival = bucket.get();
+                long wait = wait(arrival, now);
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                long start = arrival - now > 0 ? arrival : now;
+                if (bucket.compareAndSet(arrival, start + emissionInterval)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Give back an attempt taken by tryAcquire
+         */
+        private void refund(String key) {
+            AtomicLong bucket = key == null ? null : buckets.get(key);
+            if (bucket != null) {
+                bucket.addAndGet(-emissionInterval);
+            }
+        }
+
+        private long wait(long arrival, long now) {
+            long start = arrival - now > 0 ? arrival : now;
+            return start - now - burstTolerance;
+        }
+
+        private void evictIdle(long now) {
+            buckets.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.eduplatform.security;
+
+import com.eduplatform.model.User;
+import com.eduplatform.model.UserRole;
+import com.eduplatform.model.UserStatus;
+import com.eduplatform.util.ExpiringCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of authenticated principals keyed by email
+ * Holds only what the JWT filter needs so authenticated requests skip the users collection
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private ExpiringCache<String, CachedPrincipal> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new ExpiringCache<>(maxSize);
+    }
+
+    /**
+     * Get cached principal for email, or null on miss
+     */
+    public CachedPrincipal get(String email) {
+        return cache.get(email);
+    }
+
+    /**
+     * Cache principal data for a loaded user
+     */
+    public CachedPrincipal put(User user) {
+        CachedPrincipal principal = new CachedPrincipal(user.getEmail(), user.getRole(), user.getStatus());
+        cache.put(principal.getEmail(), principal, TimeUnit.SECONDS.toNanos(ttlSeconds));
+        return principal;
+    }
+
+    /**
+     * Evict principal after the user has been modified
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    // Immutable principal snapshot
+    public static class CachedPrincipal {
+        private final String email;
+        private final UserRole role;
+        private final UserStatus status;
+
+        public CachedPrincipal(String email, UserRole role, UserStatus status) {
+            this.email = email;
+            this.role = role;
+            this.status = status;
+        }
+
+        public String getEmail() { return email; }
+
+        public UserRole getRole() { return role; }
+
+        public UserStatus getStatus() { return status; }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eduplatform.security;
+
+import com.eduplatform.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token epochs for stateless authentication
+ * Only users whose epoch was ever bumped are held; everyone else is implicitly at epoch 0.
+ * A token is accepted only while its epoch claim matches the user's current epoch.
+ */
+@Component
+public class TokenEpochRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenEpochRegistry.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    private final ConcurrentHashMap<String, Integer> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Load non-zero epochs persisted on user documents
+     */
+    @PostConstruct
+    void load() {
+        if (!statelessEnabled) {
+            return;
+        }
+        userRepository.findWithTokenEpoch().forEach(user -> update(user.getId(), user.getTokenEpoch()));
+        logger.info("Loaded {} token epochs for stateless authentication", epochs.size());
+    }
+
+    /**
+     * Current epoch for a user
+     */
+    public int currentEpoch(String userId) {
+        return epochs.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Check whether a token epoch is still valid for the user
+     */
+    public boolean isCurrent(String userId, int tokenEpoch) {
+        return currentEpoch(userId) == tokenEpoch;
+    }
+
+    /**
+     * Record a bumped epoch; never moves an epoch backwards
+     */
+    public void update(String userId, Integer epoch) {
+        if (userId == null || epoch == null || epoch <= 0) {
+            return;
+        }
+        epochs.merge(userId, epoch, Math::max);
+    }
+}
@@ -0,0 +1,45 @@
+package com.eduplatform.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of a successful JWT verification
+ * Holds the subject, timestamps and remaining claims of a parsed token
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+    }
+
+    public String getSubject() { return subject; }
+
+    public Date getIssuedAt() { return issuedAt == null ? null : new Date(issuedAt.getTime()); }
+
+    public Date getExpiration() { return expiration == null ? null : new Date(expiration.getTime()); }
+
+    public long getExpirationMillis() { return expiration == null ? Long.MAX_VALUE : expiration.getTime(); }
+
+    public Map<String, Object> getClaims() { return claims; }
+
+    /**
+     * Get a single claim converted to the requested type, or null if absent
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
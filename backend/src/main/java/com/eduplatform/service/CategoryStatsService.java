@@ -0,0 +1,266 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseEventRecorder;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.CategoryStats;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.search.PublishedCourseLoader;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Category Statistics Service
+ * Keeps per-category course count, rating sum, enrollment total and price range in
+ * memory, adjusted by course and metrics events, so reads cost O(categories) and never
+ * touch MongoDB. A periodic reconciliation recomputes the figures server-side into the
+ * category_stats collection with $merge, and resets the in-memory totals from a scan of
+ * the published courses. Events arriving during the scan update the live totals and are
+ * recorded, then replayed onto the fresh totals for every course the scan read before
+ * the event arrived; events the scan already saw are dropped, so nothing is counted twice.
+ */
+@Service
+public class CategoryStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryStatsService.class);
+
+    private static final String COLLECTION = "category_stats";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PublishedCourseLoader publishedCourseLoader;
+
+    // Guarded by this
+    private Stats stats = new Stats();
+    private final CourseEventRecorder recorder = new CourseEventRecorder();
+
+    /**
+     * Build the totals from MongoDB at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Stats fresh = new Stats();
+        try {
+            publishedCourseLoader.forEachPublished(fresh::add);
+        } catch (Exception e) {
+            logger.error("Category statistics rebuild failed: {}", e.getMessage());
+            return;
+        }
+        stats = fresh;
+        logger.info("Category statistics built for {} categories", fresh.categories.size());
+    }
+
+    /**
+     * Add, replace or remove a course depending on whether it is published
+     */
+    @EventListener
+    public synchronized void onCourseEvent(CourseEvent event) {
+        stats.apply(event);
+        recorder.record(event);
+    }
+
+    /**
+     * Apply an enrollment or rating change
+     */
+    @EventListener
+    public synchronized void onMetricsEvent(CourseMetricsEvent event) {
+        stats.apply(event);
+        recorder.record(event);
+    }
+
+    /**
+     * Category statistics, largest category first
+     */
+    public synchronized List<CategoryStats> getCategoryStatistics() {
+        List<CategoryStats> result = new ArrayList<>(stats.categories.size());
+        stats.categories.forEach((category, totals) -> result.add(totals.toStats(category)));
+        result.sort(Comparator.comparingLong(CategoryStats::getCourseCount).reversed()
+                .thenComparing(CategoryStats::getCategory));
+        return result;
+    }
+
+    /**
+     * Recompute the category_stats collection with $merge and reset the in-memory totals
+     */
+    @Scheduled(fixedDelayString = "${category-stats.reconcile-interval-ms:600000}",
+            initialDelayString = "${category-stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (!recorder.begin()) {
+                return;
+            }
+        }
+        Date runStart = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("isPublished").is(true).and("status").is(CourseStatus.PUBLISHED)),
+                Aggregation.group("category")
+                        .count().as("courseCount")
+                        .sum("rating").as("ratingSum")
+                        .avg("rating").as("avgRating")
+                        .sum("enrollmentCount").as("totalEnrollments")
+                        .min("price").as("minPrice")
+                        .max("price").as("maxPrice"),
+                Aggregation.addFields().addFieldWithValue("updatedAt", runStart).build(),
+                Aggregation.merge().intoCollection(COLLECTION)
+                        .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build());
+
+        Stats fresh = new Stats();
+        try {
+            mongoTemplate.aggregate(aggregation, Course.class, Document.class);
+            // Categories left without published courses were not rewritten by this run
+            mongoTemplate.remove(Query.query(Criteria.where("updatedAt").lt(runStart)), CategoryStats.class);
+            // The aggregation cannot tell when it read each course, so the totals come from a scan that can
+            publishedCourseLoader.forEachPublished(course -> {
+                fresh.add(course);
+                recorder.read(course.getId());
+            });
+        } catch (Exception e) {
+            logger.error("Category statistics reconciliation failed: {}", e.getMessage());
+            synchronized (this) {
+                recorder.abort();
+            }
+            return;
+        }
+        swap(fresh);
+    }
+
+    private synchronized void swap(Stats fresh) {
+        recorder.replay(fresh::apply, fresh::apply);
+
+        int drifted = 0;
+        Set<String> all = new HashSet<>(stats.categories.keySet());
+        all.addAll(fresh.categories.keySet());
+        for (String category : all) {
+            Totals before = stats.categories.get(category);
+            Totals after = fresh.categories.get(category);
+            if (before == null || after == null || before.count != after.count
+                    || before.enrollments != after.enrollments
+                    || Math.abs(before.ratingSum - after.ratingSum) > 1e-6) {
+                drifted++;
+            }
+        }
+        stats = fresh;
+        if (drifted > 0) {
+            logger.warn("Category statistics reconciliation corrected {} categories", drifted);
+        }
+    }
+
+    // Per-course facts and per-category totals; only touched under the service's lock or before publication
+    private static final class Stats {
+        // Last known figures per published course, needed to reverse them on change
+        private final Map<String, CourseFacts> courses = new HashMap<>();
+        private final Map<String, Totals> categories = new HashMap<>();
+
+        private void apply(CourseEvent event) {
+            remove(event.getCourseId());
+            if (PublishedCourseLoader.isPublished(event.getCourse())) {
+                add(event.getCourse());
+            }
+        }
+
+        private void apply(CourseMetricsEvent event) {
+            CourseFacts facts = courses.get(event.getCourseId());
+            if (facts == null) {
+                return;
+            }
+            double ratingDelta = event.getRating() == null ? 0.0 : event.getRating() - facts.rating;
+            adjust(facts.category, 0, ratingDelta, event.getEnrollmentDelta());
+            facts.enrollments += event.getEnrollmentDelta();
+            if (event.getRating() != null) {
+                facts.rating = event.getRating();
+            }
+        }
+
+        private void add(Course course) {
+            CourseFacts facts = new CourseFacts(course);
+            courses.put(course.getId(), facts);
+            adjust(facts.category, 1, facts.rating, facts.enrollments);
+            if (facts.price != null) {
+                categories.get(facts.category).prices.merge(facts.price, 1, Integer::sum);
+            }
+        }
+
+        private void remove(String courseId) {
+            CourseFacts facts = courses.remove(courseId);
+            if (facts == null) {
+                return;
+            }
+            adjust(facts.category, -1, -facts.rating, -facts.enrollments);
+            Totals totals = categories.get(facts.category);
+            if (facts.price != null) {
+                totals.prices.computeIfPresent(facts.price, (price, n) -> n == 1 ? null : n - 1);
+            }
+            if (totals.count <= 0) {
+                categories.remove(facts.category);
+            }
+        }
+
+        private void adjust(String category, long count, double ratingSum, long enrollments) {
+            Totals totals = categories.computeIfAbsent(category, c -> new Totals());
+            totals.count += count;
+            totals.ratingSum += ratingSum;
+            totals.enrollments += enrollments;
+        }
+    }
+
+    private static final class CourseFacts {
+        private final String category;
+        private final Double price;
+        private double rating;
+        private long enrollments;
+
+        private CourseFacts(Course course) {
+            this.category = course.getCategory();
+            this.price = course.getPrice();
+            this.rating = course.getRating() == null ? 0.0 : course.getRating();
+            this.enrollments = course.getEnrollmentCount() == null ? 0 : course.getEnrollmentCount();
+        }
+    }
+
+    private static final class Totals {
+        private long count;
+        private double ratingSum;
+        private long enrollments;
+        // price -> number of courses at that price, so the range survives removals
+        private final TreeMap<Double, Integer> prices = new TreeMap<>();
+
+        private CategoryStats toStats(String category) {
+            CategoryStats stats = new CategoryStats(category);
+            stats.setCourseCount(count);
+            stats.setRatingSum(ratingSum);
+            stats.setAvgRating(count == 0 ? 0.0 : Math.round(ratingSum * 100.0 / count) / 100.0);
+            stats.setTotalEnrollments(enrollments);
+            stats.setMinPrice(prices.isEmpty() ? null : prices.firstKey());
+            stats.setMaxPrice(prices.isEmpty() ? null : prices.lastKey());
+            return stats;
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package com.eduplatform.service;
 
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.model.CategoryStats;
 import com.eduplatform.model.Course;
 import com.eduplatform.model.CourseLevel;
 import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.CourseSummary;
+import com.eduplatform.repository.CourseQueryPlanner;
 import com.eduplatform.repository.CourseRepository;
+import com.eduplatform.repository.CourseSearchFilter;
+import com.eduplatform.repository.CursorPage;
+import com.eduplatform.repository.KeysetPager;
 import com.eduplatform.repository.UserRepository;
+import com.eduplatform.search.CourseFacetIndex;
+import com.eduplatform.search.CourseSearchIndex;
+import com.eduplatform.search.FacetCounts;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Course Service for managing course operations
@@ -27,9 +53,39 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseFacetIndex courseFacetIndex;
+
+    @Autowired
+    private CourseQueryPlanner courseQueryPlanner;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EnrollmentCounterService enrollmentCounterService;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     /**
      * Create a new course
      */
@@ -42,6 +98,8 @@ public class CourseService {
         course.setStatus(CourseStatus.DRAFT);
         course.setIsPublished(false);
         course.setRating(0.0);
+        course.setRatingSum(0L);
+        course.setRatingCount(0);
         course.setEnrollmentCount(0);
 
         Course savedCourse = courseRepository.save(course);
@@ -55,6 +113,7 @@ public class CourseService {
             userRepository.save(user);
         });
 
+        eventPublisher.publishEvent(new CourseEvent(CourseEvent.Type.CREATED, savedCourse));
         return savedCourse;
     }
 
@@ -62,114 +121,277 @@ public class CourseService {
      * Get course by ID
      */
     public Optional<Course> findById(String id) {
-        return courseRepository.findById(id);
+        return Optional.ofNullable(catalogVersions.cachedCourse(id, () -> courseRepository.findById(id).orElse(null)));
     }
 
     /**
      * Get all published courses
      */
-    public Page<Course> getPublishedCourses(Pageable pageable) {
-        return courseRepository.findPublishedCourses(pageable);
+    public Page<CourseSummary> getPublishedCourses(Pageable pageable) {
+        return catalogVersions.cachedListing(List.of("getPublishedCourses", pageable), () ->
+                courseRepository.findPublishedCourses(pageable));
+    }
+
+    /**
+     * Get published courses by rating, best first
+     */
+    public Page<CourseSummary> getTopRatedCourses(Pageable pageable) {
+        return catalogVersions.cachedListing(List.of("getTopRatedCourses", pageable), () ->
+                courseRepository.findTopRatedCourses(PageRequest.of(pageable.getPageNumber(),
+                        pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "rating", "enrollmentCount"))));
+    }
+
+    /**
+     * Get published courses by enrollment count, most enrolled first
+     */
+    public Page<CourseSummary> getMostEnrolledCourses(Pageable pageable) {
+        return catalogVersions.cachedListing(List.of("getMostEnrolledCourses", pageable), () ->
+                courseRepository.findMostEnrolledCourses(PageRequest.of(pageable.getPageNumber(),
+                        pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "enrollmentCount", "rating"))));
+    }
+
+    /**
+     * Get a slice of published courses after the cursor
+     */
+    public CursorPage<CourseSummary> getPublishedCourses(String cursor, int size, String sortBy, Sort.Direction direction) {
+        Query query = Query.query(Criteria.where("isPublished").is(true).and("status").is(CourseStatus.PUBLISHED));
+        return keysetPager.find(query, Course.class, CourseSummary.class, sortBy, direction, cursor, size);
     }
 
     /**
      * Search courses with filters
+     * All supplied filters are combined into one planned query
      */
-    public Page<Course> searchCourses(String searchTerm, String category, CourseLevel level, 
+    public Page<CourseSummary> searchCourses(String searchTerm, String category, CourseLevel level, 
                                     Double minPrice, Double maxPrice, Pageable pageable) {
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            return courseRepository.searchPublishedCourses(searchTerm, pageable);
+        CourseSearchFilter filter = new CourseSearchFilter(searchTerm, category, level, minPrice, maxPrice);
+        if (filter.hasSearchTerm() && courseSearchIndex.isReady()) {
+            return searchIndexedCourses(filter, pageable);
+        }
+        return courseQueryPlanner.findPage(filter, pageable);
+    }
+
+    /**
+     * Search courses with filters, returning a slice after the cursor
+     * Text queries page through the in-memory ranking; other searches use keyset pagination
+     */
+    public CursorPage<CourseSummary> searchCourses(String searchTerm, String category, CourseLevel level,
+                                            Double minPrice, Double maxPrice, String cursor, int size) {
+        CourseSearchFilter filter = new CourseSearchFilter(searchTerm, category, level, minPrice, maxPrice);
+        if (filter.hasSearchTerm() && courseSearchIndex.isReady()) {
+            return searchIndexedCourses(filter, cursor, size);
+        }
+        if (!filter.hasSearchTerm() && !CourseQueryPlanner.hasStructuredFilters(filter)) {
+            return getPublishedCourses(cursor, size, "createdAt", Sort.Direction.DESC);
         }
+        return keysetPager.find(courseQueryPlanner.buildFilter(filter, null), Course.class, CourseSummary.class,
+                "createdAt", Sort.Direction.DESC, cursor, size);
+    }
 
-        if (category != null && level != null) {
-            return courseRepository.findByCategoryAndLevel(category, level, pageable);
+    /**
+     * Facet counts for a search, computed from the in-memory bitset index
+     */
+    public FacetCounts getSearchFacets(String searchTerm, String category, CourseLevel level,
+                                       Double minPrice, Double maxPrice) {
+        Set<String> candidates = null;
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            candidates = courseSearchIndex.matches(searchTerm);
         }
+        return courseFacetIndex.count(candidates, category, level, minPrice, maxPrice);
+    }
+
+    /**
+     * Text search ranked by the in-memory index; structured filters narrow the ranked ids
+     * against the facet bitsets and only the requested page is read from MongoDB
+     */
+    private Page<CourseSummary> searchIndexedCourses(CourseSearchFilter filter, Pageable pageable) {
+        List<String> rankedIds = rankedMatches(filter);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<String> pageIds = rankedIds.subList(from, to);
+
+        Map<String, CourseSummary> byId = courseRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(CourseSummary::getId, Function.identity()));
+        List<CourseSummary> content = pageIds.stream()
+                .map(byId::get)
+                .filter(course -> course != null)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    /**
+     * Ranked text search slice; the cursor holds the rank and id of the last course returned
+     */
+    private CursorPage<CourseSummary> searchIndexedCourses(CourseSearchFilter filter, String cursor, int size) {
+        List<String> rankedIds = rankedMatches(filter);
+        int from = rankCursorStart(cursor, rankedIds);
+        int to = Math.min(from + size, rankedIds.size());
+        List<String> sliceIds = rankedIds.subList(from, to);
+
+        Map<String, CourseSummary> byId = courseRepository.findSummariesByIdIn(sliceIds).stream()
+                .collect(Collectors.toMap(CourseSummary::getId, Function.identity()));
+        List<CourseSummary> content = sliceIds.stream()
+                .map(byId::get)
+                .filter(course -> course != null)
+                .collect(Collectors.toList());
 
-        if (minPrice != null && maxPrice != null) {
-            return courseRepository.findByPriceRange(minPrice, maxPrice, pageable);
+        String nextCursor = to < rankedIds.size() ? encodeRankCursor(to - 1, rankedIds.get(to - 1)) : null;
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    /**
+     * Every course matching the text query and structured filters, best match first
+     * Not capped at search.max-results, so totals and deep pages stay exact.
+     */
+    private List<String> rankedMatches(CourseSearchFilter filter) {
+        List<String> rankedIds = courseSearchIndex.search(filter.getSearchTerm(), Integer.MAX_VALUE);
+        if (CourseQueryPlanner.hasStructuredFilters(filter)) {
+            rankedIds = courseFacetIndex.retain(rankedIds, filter.getCategory(), filter.getLevel(),
+                    filter.getMinPrice(), filter.getMaxPrice());
         }
+        return rankedIds;
+    }
 
-        return courseRepository.findPublishedCourses(pageable);
+    private static String encodeRankCursor(int rank, String courseId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("rank:" + rank + ":" + courseId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Resume after the last course returned; if the ranking shifted, find that course again
+    private static int rankCursorStart(String cursor, List<String> rankedIds) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String[] parts;
+        int rank;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            rank = Integer.parseInt(parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 3 || !"rank".equals(parts[0]) || rank < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (rank < rankedIds.size() && rankedIds.get(rank).equals(parts[2])) {
+            return rank + 1;
+        }
+        int moved = rankedIds.indexOf(parts[2]);
+        return moved >= 0 ? moved + 1 : Math.min(rank + 1, rankedIds.size());
     }
 
     /**
      * Get courses by instructor
      */
-    public Page<Course> getCoursesByInstructor(String instructorId, Pageable pageable) {
+    public Page<CourseSummary> getCoursesByInstructor(String instructorId, Pageable pageable) {
         return courseRepository.findByInstructorId(instructorId, pageable);
     }
 
+    /**
+     * Get a slice of an instructor's courses after the cursor, newest first
+     */
+    public CursorPage<CourseSummary> getCoursesByInstructor(String instructorId, String cursor, int size) {
+        Query query = Query.query(Criteria.where("instructorId").is(instructorId));
+        return keysetPager.find(query, Course.class, CourseSummary.class, "createdAt", Sort.Direction.DESC, cursor, size);
+    }
+
     /**
      * Update course
+     * Sets only the editable fields so counters maintained with $inc are never overwritten
      */
     public Course updateCourse(String id, Course courseDetails) {
-        return courseRepository.findById(id).map(course -> {
-            course.setTitle(courseDetails.getTitle());
-            course.setDescription(courseDetails.getDescription());
-            course.setCategory(courseDetails.getCategory());
-            course.setLevel(courseDetails.getLevel());
-            course.setPrice(courseDetails.getPrice());
-            course.setDuration(courseDetails.getDuration());
-            course.setImageUrl(courseDetails.getImageUrl());
-            course.setSkills(courseDetails.getSkills());
-            course.setLessons(courseDetails.getLessons());
-            return courseRepository.save(course);
-        }).orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        Update update = new Update()
+                .set("title", courseDetails.getTitle())
+                .set("description", courseDetails.getDescription())
+                .set("category", courseDetails.getCategory())
+                .set("level", courseDetails.getLevel())
+                .set("price", courseDetails.getPrice())
+                .set("duration", courseDetails.getDuration())
+                .set("imageUrl", courseDetails.getImageUrl())
+                .set("skills", courseDetails.getSkills())
+                .set("lessons", courseDetails.getLessons())
+                .set("updatedAt", LocalDateTime.now());
+        Course savedCourse = mongoTemplate.findAndModify(byId(id), update,
+                FindAndModifyOptions.options().returnNew(true), Course.class);
+        if (savedCourse == null) {
+            throw new RuntimeException("Course not found with id: " + id);
+        }
+        eventPublisher.publishEvent(new CourseEvent(CourseEvent.Type.UPDATED, savedCourse));
+        return savedCourse;
     }
 
     /**
      * Publish course
      */
     public Course publishCourse(String id) {
-        return courseRepository.findById(id).map(course -> {
-            course.setIsPublished(true);
-            course.setStatus(CourseStatus.PUBLISHED);
-            return courseRepository.save(course);
-        }).orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        LocalDateTime now = LocalDateTime.now();
+        Course course = changeStatus(id, new Update().set("status", CourseStatus.PUBLISHED).set("isPublished", true)
+                .set("updatedAt", now));
+        CourseStatus previousStatus = course.getStatus();
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setIsPublished(true);
+        course.setUpdatedAt(now);
+        eventPublisher.publishEvent(new CourseEvent(CourseEvent.Type.PUBLISHED, course, previousStatus));
+        return course;
+    }
+
+    /**
+     * Apply a status change and return the document as it was before it
+     * The previous status is only known from the pre-image, so the caller applies the change to it in memory
+     */
+    private Course changeStatus(String id, Update update) {
+        Course previous = mongoTemplate.findAndModify(byId(id), update,
+                FindAndModifyOptions.options().returnNew(false), Course.class);
+        if (previous == null) {
+            throw new RuntimeException("Course not found with id: " + id);
+        }
+        return previous;
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
     }
 
     /**
      * Increment enrollment count
+     * Applied with $inc by the enrollment counter, batched unless configured otherwise
      */
-    public Course incrementEnrollment(String courseId) {
-        return courseRepository.findById(courseId).map(course -> {
-            course.setEnrollmentCount(course.getEnrollmentCount() + 1);
-            return courseRepository.save(course);
-        }).orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+    public void incrementEnrollment(String courseId) {
+        enrollmentCounterService.increment(courseId);
     }
 
     /**
      * Get course statistics
      */
     public Map<String, Object> getCourseStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalCourses", courseRepository.count());
-        stats.put("publishedCourses", courseRepository.countByStatus(CourseStatus.PUBLISHED));
-        stats.put("draftCourses", courseRepository.countByStatus(CourseStatus.DRAFT));
-        return stats;
+        return new HashMap<>(statisticsService.getCourseStatistics());
     }
 
     /**
-     * Get category statistics
+     * Get category statistics, served from the materialized view
      */
-    public List<Object> getCategoryStatistics() {
-        return courseRepository.getCategoryStatistics();
+    public List<CategoryStats> getCategoryStatistics() {
+        return categoryStatsService.getCategoryStatistics();
     }
 
     /**
      * Get free courses
      */
-    public Page<Course> getFreeCourses(Pageable pageable) {
-        return courseRepository.findFreeCourses(pageable);
+    public Page<CourseSummary> getFreeCourses(Pageable pageable) {
+        return catalogVersions.cachedListing(List.of("getFreeCourses", pageable), () ->
+                courseRepository.findFreeCourses(pageable));
     }
 
     /**
      * Delete course
      */
     public void deleteCourse(String id) {
-        courseRepository.findById(id).map(course -> {
-            course.setStatus(CourseStatus.ARCHIVED);
-            return courseRepository.save(course);
-        }).orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        LocalDateTime now = LocalDateTime.now();
+        Course course = changeStatus(id, new Update().set("status", CourseStatus.ARCHIVED).set("updatedAt", now));
+        CourseStatus previousStatus = course.getStatus();
+        course.setStatus(CourseStatus.ARCHIVED);
+        course.setUpdatedAt(now);
+        eventPublisher.publishEvent(new CourseEvent(CourseEvent.Type.ARCHIVED, course, previousStatus));
     }
 }
\ No newline at end of file
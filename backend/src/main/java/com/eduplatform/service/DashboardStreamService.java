@@ -0,0 +1,360 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CompletionEvent;
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.event.UserEvent;
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.DashboardDelta;
+import com.eduplatform.model.User;
+import com.eduplatform.model.UserRole;
+import com.eduplatform.model.UserStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live dashboard stream over server-sent events
+ * Enrollment, registration, publish and completion events are summed into one shared
+ * delta; each tick it is drained once and fanned out to every subscriber. A subscriber
+ * buffers at most one pending delta: while a slow client is still being written to,
+ * later ticks merge into that buffer instead of queueing, so memory per subscriber is
+ * bounded and a slow client never delays the others.
+ *
+ * A new subscriber is registered before its snapshot is computed, and its deltas are
+ * held until the snapshot is sent, so nothing between the two is lost.
+ */
+@Service
+public class DashboardStreamService {
+
+    public static final String ENROLLMENTS = "enrollments";
+    public static final String NEW_USERS = "newUsers";
+    public static final String PUBLISHES = "publishes";
+    public static final String COMPLETIONS = "completions";
+
+    // Parts of a delta; COURSES and USERS use the snapshot's keys
+    private enum Section {
+        TOTALS,
+        COURSES,
+        USERS,
+        COURSE_ENROLLMENTS
+    }
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${dashboard.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Section, Map<String, LongAdder>> accumulated = new EnumMap<>(Section.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    void init() {
+        for (Section section : Section.values()) {
+            accumulated.put(section, new ConcurrentHashMap<>());
+        }
+        // Each subscriber has at most one send queued or running, so the queue never exceeds the subscribers
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxSubscribers)), new StreamThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("dashboard.stream.subscribers", subscribers, Set::size)
+                .description("Dashboards subscribed to the live statistics stream")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    /**
+     * Open a stream; the first event is a freshly computed statistics snapshot
+     *
+     * @throws IllegalStateException when the subscriber limit is reached or no snapshot can be computed
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many dashboard subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Hand what has accumulated to the existing subscribers, so this one only gets later events
+        synchronized (this) {
+            publish();
+            subscribers.add(subscriber);
+        }
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(statisticsService.getFreshSnapshot()));
+        } catch (Exception e) {
+            subscribers.remove(subscriber);
+            throw new IllegalStateException("Dashboard snapshot unavailable", e);
+        }
+        subscriber.release();
+        return emitter;
+    }
+
+    @EventListener
+    public void onCourseEvent(CourseEvent event) {
+        CourseStatus status = event.getCourse().getStatus();
+        if (event.getType() == CourseEvent.Type.CREATED) {
+            add(Section.COURSES, "totalCourses", 1);
+            add(Section.COURSES, statusKey(status), 1);
+            return;
+        }
+        CourseStatus previous = event.getPreviousStatus();
+        if (previous == null || previous == status) {
+            return;
+        }
+        add(Section.COURSES, statusKey(previous), -1);
+        add(Section.COURSES, statusKey(status), 1);
+        if (status == CourseStatus.PUBLISHED) {
+            add(Section.TOTALS, PUBLISHES, 1);
+        }
+    }
+
+    @EventListener
+    public void onMetricsEvent(CourseMetricsEvent event) {
+        long delta = event.getEnrollmentDelta();
+        if (delta != 0) {
+            add(Section.TOTALS, ENROLLMENTS, delta);
+            add(Section.COURSES, "totalEnrollments", delta);
+            add(Section.COURSE_ENROLLMENTS, event.getCourseId(), delta);
+        }
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        User user = event.getUser();
+        if (event.getType() == UserEvent.Type.DEACTIVATED) {
+            add(Section.USERS, "activeUsers", -1);
+            return;
+        }
+        add(Section.TOTALS, NEW_USERS, 1);
+        add(Section.USERS, "totalUsers", 1);
+        if (user.getRole() != null) {
+            add(Section.USERS, roleKey(user.getRole()), 1);
+        }
+        if (user.getStatus() == UserStatus.ACTIVE) {
+            add(Section.USERS, "activeUsers", 1);
+        }
+    }
+
+    @EventListener
+    public void onCompletionEvent(CompletionEvent event) {
+        add(Section.TOTALS, COMPLETIONS, event.getCompletions());
+    }
+
+    /**
+     * Drain the shared delta once and fan it out
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval-ms:1000}")
+    public synchronized void publish() {
+        Map<Section, Map<String, Long>> tick = new EnumMap<>(Section.class);
+        boolean empty = true;
+        for (Section section : Section.values()) {
+            Map<String, Long> drained = drain(accumulated.get(section));
+            tick.put(section, drained);
+            empty &= drained.isEmpty();
+        }
+        if (empty) {
+            return;
+        }
+        long tickSequence = sequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(tickSequence, tick);
+        }
+    }
+
+    /**
+     * Keep idle connections open and find the ones that went away
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    private void add(Section section, String key, long delta) {
+        if (!subscribers.isEmpty()) {
+            accumulated.get(section).computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    // Subtracts only what was read, so concurrent additions carry over to the next tick
+    private static Map<String, Long> drain(Map<String, LongAdder> adders) {
+        Map<String, Long> drained = new LinkedHashMap<>();
+        adders.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                adder.add(-value);
+                drained.put(key, value);
+            }
+        });
+        adders.values().removeIf(adder -> adder.sum() == 0);
+        return drained;
+    }
+
+    private static String statusKey(CourseStatus status) {
+        return status == null ? "unknownCourses" : status.name().toLowerCase() + "Courses";
+    }
+
+    private static String roleKey(UserRole role) {
+        switch (role) {
+            case STUDENT:
+                return "totalStudents";
+            case INSTRUCTOR:
+                return "totalInstructors";
+            default:
+                return "totalAdmins";
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // Guarded by this; merged while a send is in progress
+        private Map<Section, Map<String, Long>> pending = new EnumMap<>(Section.class);
+        private long fromSequence;
+        private long toSequence;
+        private boolean heartbeatDue;
+        // Starts true so nothing is sent before the snapshot
+        private boolean sending = true;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(long tick, Map<Section, Map<String, Long>> delta) {
+            synchronized (this) {
+                if (fromSequence == 0) {
+                    fromSequence = tick;
+                }
+                toSequence = tick;
+                delta.forEach((section, values) -> values.forEach((key, value) ->
+                        pending.computeIfAbsent(section, s -> new HashMap<>()).merge(key, value, Long::sum)));
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        // Called once the snapshot is sent
+        private void release() {
+            synchronized (this) {
+                sending = false;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                sender.execute(this::drainToClient);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void drainToClient() {
+            while (true) {
+                DashboardDelta delta = null;
+                boolean ping;
+                synchronized (this) {
+                    if (!pending.isEmpty()) {
+                        delta = new DashboardDelta(fromSequence, toSequence, section(Section.TOTALS),
+                                section(Section.COURSES), section(Section.USERS), section(Section.COURSE_ENROLLMENTS));
+                        pending = new EnumMap<>(Section.class);
+                        fromSequence = 0;
+                    }
+                    ping = heartbeatDue;
+                    heartbeatDue = false;
+                    if (delta == null && !ping) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    if (delta != null) {
+                        emitter.send(SseEmitter.event().name("delta").data(delta));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        private Map<String, Long> section(Section section) {
+            return pending.getOrDefault(section, Map.of());
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            emitter.complete();
+        }
+    }
+
+    private static class StreamThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dashboard-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enrollment Counter Service
+ * Course enrollment counts are only ever changed with $inc, never by rewriting the
+ * course. In batched mode increments accumulate in a striped LongAdder per course and
+ * are written as one unordered bulkWrite per flush, so a launch with thousands of
+ * enrollments on one course costs one update per interval. Immediate mode issues
+ * the $inc on every enrollment for strictly consistent counts.
+ */
+@Service
+public class EnrollmentCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCounterService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // false = $inc immediately on every enrollment
+    @Value("${enrollment.counter.batched:true}")
+    private boolean batched;
+
+    // Adders are kept for the life of the process; removing one could drop an in-flight increment
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("enrollment.counter.pending", this, EnrollmentCounterService::pendingIncrements)
+                .description("Enrollment increments not yet written to MongoDB")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count one enrollment for a course
+     */
+    public void increment(String courseId) {
+        if (!batched) {
+            UpdateResult result = mongoTemplate.updateFirst(byId(courseId),
+                    new Update().inc("enrollmentCount", 1), Course.class);
+            if (result.getMatchedCount() == 0) {
+                throw new RuntimeException("Course not found with id: " + courseId);
+            }
+            catalogVersions.courseChanged(courseId);
+            eventPublisher.publishEvent(CourseMetricsEvent.enrollments(courseId, 1));
+            return;
+        }
+        pending.computeIfAbsent(courseId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write accumulated increments as a single bulk $inc
+     * Only the amount written is subtracted, so increments racing with the flush are kept.
+     */
+    @Scheduled(fixedDelayString = "${enrollment.counter.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        pending.forEach((courseId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                deltas.put(courseId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<String> courseIds = new ArrayList<>(deltas.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Course.class);
+        courseIds.forEach(courseId ->
+                bulk.updateOne(byId(courseId), new Update().inc("enrollmentCount", deltas.get(courseId))));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: every update not reported as failed was applied and must not be sent again
+            Set<String> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(courseIds.get(error.getIndex()));
+            }
+            logger.error("Enrollment counter flush failed for {} of {} courses, will retry: {}",
+                    failed.size(), courseIds.size(), e.getMessage());
+            deltas.keySet().removeAll(failed);
+        } catch (Exception e) {
+            // Nothing was subtracted; the increments are retried on the next flush
+            logger.error("Enrollment counter flush of {} courses failed: {}", deltas.size(), e.getMessage());
+            return;
+        }
+
+        // Subtract everything written before notifying listeners, so a failing listener cannot cause a re-send
+        deltas.forEach((courseId, delta) -> {
+            pending.get(courseId).add(-delta);
+            catalogVersions.courseChanged(courseId);
+        });
+        deltas.forEach((courseId, delta) -> eventPublisher.publishEvent(CourseMetricsEvent.enrollments(courseId, delta)));
+    }
+
+    /**
+     * Flush outstanding increments before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        long remaining = pendingIncrements();
+        if (remaining != 0) {
+            logger.error("{} enrollment increments could not be written at shutdown", remaining);
+        }
+    }
+
+    private long pendingIncrements() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    private static Query byId(String courseId) {
+        return Query.query(Criteria.where("_id").is(courseId));
+    }
+}
@@ -0,0 +1,154 @@
+package com.eduplatform.service;
+
+import com.eduplatform.model.EnrollmentStatus;
+import com.eduplatform.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Enrollment Migration Service
+ * Backfills the enrollments collection from the enrolledCourses, completedCourses and
+ * courseProgress fields on users while the application keeps serving traffic. Users
+ * are streamed in _id order and written as bulk upserts; a checkpoint is saved after
+ * each batch so a restart resumes where it stopped. Every write is an upsert or $max,
+ * so it converges with the live dual writes regardless of order.
+ */
+@Service
+public class EnrollmentMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentMigrationService.class);
+
+    private static final String CHECKPOINTS = "migrations";
+    private static final String CHECKPOINT_ID = "enrollments";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Value("${enrollment.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${enrollment.migration.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Start the backfill in the background once the application is serving
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "enrollment-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Copy enrollments from user documents, resuming from the last checkpoint
+     */
+    public void migrate() {
+        // The unique (userId, courseId) index is what makes concurrent upserts converge on one document
+        enrollmentService.ensureIndexes();
+        Document checkpoint = mongoTemplate.findById(CHECKPOINT_ID, Document.class, CHECKPOINTS);
+        if (checkpoint != null && Boolean.TRUE.equals(checkpoint.getBoolean("completed"))) {
+            logger.info("Enrollment migration already completed");
+            return;
+        }
+        String lastUserId = checkpoint == null ? null : checkpoint.getString("lastUserId");
+
+        Query query = Query.query(Criteria.where("enrolledCourses.0").exists(true));
+        if (lastUserId != null) {
+            // $gt is not converted to ObjectId by the mapper
+            query.addCriteria(Criteria.where("_id").gt(
+                    ObjectId.isValid(lastUserId) ? new ObjectId(lastUserId) : lastUserId));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().include("_id").include("enrolledCourses").include("completedCourses")
+                .include("courseProgress").include("createdAt");
+
+        long users = 0;
+        List<User> batch = new ArrayList<>(batchSize);
+        try (Stream<User> stream = mongoTemplate.stream(query, User.class)) {
+            Iterator<User> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize) {
+                    users += writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            users += writeBatch(batch);
+        } catch (Exception e) {
+            logger.error("Enrollment migration stopped after {} users: {}", users, e.getMessage());
+            return;
+        }
+        saveCheckpoint(null, true);
+        logger.info("Enrollment migration completed, {} users migrated", users);
+    }
+
+    private int writeBatch(List<User> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        for (User user : batch) {
+            Set<String> completed = user.getCompletedCourses() == null
+                    ? Set.of() : new LinkedHashSet<>(user.getCompletedCourses());
+            Set<String> courseIds = new LinkedHashSet<>(user.getEnrolledCourses());
+            courseIds.addAll(completed);
+            Map<String, Double> progress = user.getCourseProgress() == null ? Map.of() : user.getCourseProgress();
+
+            for (String courseId : courseIds) {
+                Update update = new Update()
+                        .setOnInsert("enrolledAt", user.getCreatedAt() == null ? now : user.getCreatedAt())
+                        .max("progress", progress.getOrDefault(courseId, 0.0))
+                        .set("updatedAt", now);
+                if (completed.contains(courseId)) {
+                    update.set("status", EnrollmentStatus.COMPLETED).setOnInsert("completedAt", now);
+                } else {
+                    update.setOnInsert("status", EnrollmentStatus.ACTIVE);
+                }
+                upserts.add(Pair.of(
+                        Query.query(Criteria.where("userId").is(user.getId()).and("courseId").is(courseId)), update));
+            }
+        }
+        // Live enrollments may insert the same documents concurrently; those upserts are retried, not fatal
+        enrollmentService.upsertAll(upserts);
+        saveCheckpoint(batch.get(batch.size() - 1).getId(), false);
+        return batch.size();
+    }
+
+    private void saveCheckpoint(String lastUserId, boolean completed) {
+        Update update = new Update().set("completed", completed).set("updatedAt", LocalDateTime.now());
+        if (lastUserId != null) {
+            update.set("lastUserId", lastUserId);
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(CHECKPOINT_ID)), update, CHECKPOINTS);
+    }
+}
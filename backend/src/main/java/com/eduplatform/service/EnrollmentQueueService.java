@@ -0,0 +1,419 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.User;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Enrollment Queue Service (write-behind mode)
+ * Accepts enrollments into a bounded in-memory queue and returns immediately; a
+ * background worker writes them to users and courses as bulkWrites.
+ *
+ * Durability: an enrollment is accepted only after its record is appended to a local
+ * journal (and fsynced when enrollment.write-behind.fsync is set). A batch is written in
+ * two steps that are journaled separately. Once the user updates are written, the course
+ * count deltas they owe are journaled and the enrollments acknowledged; the counts are
+ * then written on their own and retried on their own until they succeed, so a failed
+ * course write never loses counts. The journal is truncated once nothing is outstanding.
+ * On startup unacknowledged records and unwritten counts are replayed; user updates are
+ * conditional, so a replayed enrollment is never applied twice. Only a crash between a
+ * user write and the journal append right after it can leave counts short.
+ */
+@Service
+public class EnrollmentQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentQueueService.class);
+
+    private static final String RECORD = "E";
+    private static final String ACK = "A";
+    // Course count deltas owed by written user updates
+    private static final String COUNTS = "C";
+    // Counts written; carries the deltas still owed, replacing everything journaled before
+    private static final String COUNTS_WRITTEN = "K";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${enrollment.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${enrollment.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${enrollment.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${enrollment.write-behind.journal:data/enrollment-journal.log}")
+    private String journalPath;
+
+    @Value("${enrollment.write-behind.fsync:false}")
+    private boolean fsync;
+
+    private BlockingQueue<PendingEnrollment> queue;
+    private FileChannel journal;
+    private long nextSequence = 1;
+
+    // Batch drained from the queue but not yet written; retried first after a failure
+    private final List<PendingEnrollment> inFlight = new ArrayList<>();
+
+    // Course count deltas owed by written user updates; guarded by inFlight
+    private final Map<String, Long> pendingCounts = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(journalPath);
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        trimTornLine(path);
+        List<PendingEnrollment> replayed = readUnacknowledged(path);
+        queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, replayed.size() + 1));
+        queue.addAll(replayed);
+        journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        Gauge.builder("enrollment.write-behind.queue.depth", queue, BlockingQueue::size)
+                .description("Enrollments accepted but not yet written to MongoDB")
+                .register(meterRegistry);
+        if (!replayed.isEmpty() || !pendingCounts.isEmpty()) {
+            logger.info("Replaying {} unacknowledged enrollments and counts for {} courses from {}",
+                    replayed.size(), pendingCounts.size(), path);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journal and queue an enrollment
+     *
+     * @return false if the queue is full and the caller should enroll synchronously
+     */
+    public synchronized boolean submit(String email, String courseId) {
+        if (!enabled || queue.remainingCapacity() == 0) {
+            return false;
+        }
+        PendingEnrollment enrollment = new PendingEnrollment(nextSequence++, email, courseId);
+        try {
+            append(RECORD + "\t" + enrollment.sequence + "\t" + email + "\t" + courseId);
+        } catch (IOException e) {
+            logger.error("Enrollment journal write failed: {}", e.getMessage());
+            return false;
+        }
+        // Only this method adds, under the lock, so the capacity check above still holds
+        queue.add(enrollment);
+        return true;
+    }
+
+    /**
+     * Write queued enrollments in batches
+     */
+    @Scheduled(fixedDelayString = "${enrollment.write-behind.flush-interval-ms:200}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (inFlight) {
+            // Failed counts are retried on the next drain without holding back user batches
+            boolean countsFailed = false;
+            while (true) {
+                if (!pendingCounts.isEmpty() && !countsFailed) {
+                    try {
+                        writeCounts();
+                    } catch (Exception e) {
+                        logger.error("Enrollment counts for {} courses failed, will retry: {}",
+                                pendingCounts.size(), e.getMessage());
+                        countsFailed = true;
+                    }
+                }
+                if (inFlight.isEmpty()) {
+                    queue.drainTo(inFlight, batchSize);
+                }
+                if (inFlight.isEmpty()) {
+                    return;
+                }
+                try {
+                    writeUsers(inFlight);
+                    long last = inFlight.get(inFlight.size() - 1).sequence;
+                    inFlight.clear();
+                    checkpoint(ACK + "\t" + last);
+                } catch (Exception e) {
+                    logger.error("Enrollment batch of {} failed, will retry: {}", inFlight.size(), e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        drain();
+        journal.close();
+    }
+
+    /**
+     * Write the user side of a batch and journal the course counts it owes
+     * After a partial failure the whole batch is retried; users already updated are
+     * skipped by the enrolled check, so their counts are not journaled twice.
+     */
+    private void writeUsers(List<PendingEnrollment> batch) throws IOException {
+        // Which of these users are already enrolled; replays and duplicates become no-ops
+        Set<String> emails = new HashSet<>();
+        batch.forEach(enrollment -> emails.add(enrollment.email));
+        Query existing = Query.query(Criteria.where("email").in(emails));
+        existing.fields().include("_id").include("email").include("enrolledCourses");
+        Map<String, Set<String>> enrolled = new HashMap<>();
+        Map<String, String> userIds = new HashMap<>();
+        for (User user : mongoTemplate.find(existing, User.class)) {
+            enrolled.put(user.getEmail(), user.getEnrolledCourses() == null
+                    ? new HashSet<>() : new HashSet<>(user.getEnrolledCourses()));
+            userIds.put(user.getEmail(), user.getId());
+        }
+
+        BulkOperations users = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        List<PendingEnrollment> updates = new ArrayList<>();
+        // Upserts are idempotent, so already enrolled users are recorded again in case an earlier attempt failed
+        Map<String, List<String>> records = new HashMap<>();
+        for (PendingEnrollment enrollment : batch) {
+            Set<String> courses = enrolled.get(enrollment.email);
+            if (courses == null) {
+                logger.warn("Dropping queued enrollment for unknown user {}", enrollment.email);
+                continue;
+            }
+            records.computeIfAbsent(userIds.get(enrollment.email), id -> new ArrayList<>()).add(enrollment.courseId);
+            if (!courses.add(enrollment.courseId)) {
+                continue;
+            }
+            users.updateOne(
+                    Query.query(Criteria.where("email").is(enrollment.email)
+                            .and("enrolledCourses").ne(enrollment.courseId)),
+                    new Update().addToSet("enrolledCourses", enrollment.courseId)
+                            .set("courseProgress." + enrollment.courseId, 0.0));
+            updates.add(enrollment);
+        }
+
+        BulkOperationException failure = null;
+        if (!updates.isEmpty()) {
+            try {
+                users.execute();
+            } catch (BulkOperationException e) {
+                // Unordered: every update not reported as failed was applied
+                failure = e;
+                Set<PendingEnrollment> failed = new HashSet<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(updates.get(error.getIndex()));
+                }
+                updates.removeAll(failed);
+            }
+        }
+
+        // Journaled before anything else can fail; a retry sees these users as enrolled and would not count them
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        updates.forEach(enrollment -> deltas.merge(enrollment.courseId, 1L, Long::sum));
+        if (!deltas.isEmpty()) {
+            append(COUNTS + "\t" + formatCounts(deltas));
+            deltas.forEach((courseId, delta) -> pendingCounts.merge(courseId, delta, Long::sum));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        enrollmentService.recordEnrollments(records);
+    }
+
+    /**
+     * Write the journaled course counts as one bulk $inc
+     */
+    private void writeCounts() throws IOException {
+        List<String> courseIds = new ArrayList<>(pendingCounts.keySet());
+        BulkOperations courses = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Course.class);
+        courseIds.forEach(courseId -> courses.updateOne(Query.query(Criteria.where("_id").is(courseId)),
+                new Update().inc("enrollmentCount", pendingCounts.get(courseId))));
+        Set<String> failed = new HashSet<>();
+        BulkOperationException failure = null;
+        try {
+            courses.execute();
+        } catch (BulkOperationException e) {
+            failure = e;
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(courseIds.get(error.getIndex()));
+            }
+        }
+
+        Map<String, Long> written = new LinkedHashMap<>();
+        for (String courseId : courseIds) {
+            if (!failed.contains(courseId)) {
+                written.put(courseId, pendingCounts.remove(courseId));
+            }
+        }
+        checkpoint(COUNTS_WRITTEN + (pendingCounts.isEmpty() ? "" : "\t" + formatCounts(pendingCounts)));
+        written.forEach((courseId, delta) -> catalogVersions.courseChanged(courseId));
+        written.forEach((courseId, delta) ->
+                eventPublisher.publishEvent(CourseMetricsEvent.enrollments(courseId, delta)));
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Appends a checkpoint record, or truncates the journal when nothing is outstanding
+    private synchronized void checkpoint(String record) throws IOException {
+        if (queue.isEmpty() && inFlight.isEmpty() && pendingCounts.isEmpty()) {
+            // Everything accepted so far is in MongoDB
+            journal.truncate(0);
+            if (fsync) {
+                journal.force(false);
+            }
+            return;
+        }
+        append(record);
+    }
+
+    private static String formatCounts(Map<String, Long> counts) {
+        StringBuilder line = new StringBuilder();
+        counts.forEach((courseId, delta) -> {
+            if (line.length() > 0) {
+                line.append('\t');
+            }
+            line.append(courseId).append('\t').append(delta);
+        });
+        return line.toString();
+    }
+
+    // A crash mid-append leaves a partial last line; it may still parse, so it is cut off
+    private static void trimTornLine(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < channel.size()) {
+                logger.warn("Discarding torn last line of enrollment journal");
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private void append(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        if (fsync) {
+            journal.force(false);
+        }
+    }
+
+    private List<PendingEnrollment> readUnacknowledged(Path path) throws IOException {
+        List<PendingEnrollment> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        long acknowledged = 0;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            try {
+                if (RECORD.equals(fields[0]) && fields.length == 4) {
+                    records.add(new PendingEnrollment(Long.parseLong(fields[1]), fields[2], fields[3]));
+                } else if (ACK.equals(fields[0]) && fields.length == 2) {
+                    acknowledged = Math.max(acknowledged, Long.parseLong(fields[1]));
+                } else if (COUNTS.equals(fields[0]) && fields.length % 2 == 1) {
+                    parseCounts(fields).forEach((courseId, delta) -> pendingCounts.merge(courseId, delta, Long::sum));
+                } else if (COUNTS_WRITTEN.equals(fields[0]) && fields.length % 2 == 1) {
+                    Map<String, Long> remaining = parseCounts(fields);
+                    pendingCounts.clear();
+                    pendingCounts.putAll(remaining);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping malformed enrollment journal line");
+            }
+        }
+        long lastAcknowledged = acknowledged;
+        records.removeIf(record -> record.sequence <= lastAcknowledged);
+        records.forEach(record -> nextSequence = Math.max(nextSequence, record.sequence + 1));
+        nextSequence = Math.max(nextSequence, lastAcknowledged + 1);
+        return records;
+    }
+
+    private static Map<String, Long> parseCounts(String[] fields) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 1; i + 1 < fields.length; i += 2) {
+            counts.merge(fields[i], Long.parseLong(fields[i + 1]), Long::sum);
+        }
+        return counts;
+    }
+
+    private static final class PendingEnrollment {
+        private final long sequence;
+        private final String email;
+        private final String courseId;
+
+        private PendingEnrollment(long sequence, String email, String courseId) {
+            this.sequence = sequence;
+            this.email = email;
+            this.courseId = courseId;
+        }
+    }
+}
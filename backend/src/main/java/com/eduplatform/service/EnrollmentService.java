@@ -0,0 +1,192 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CompletionEvent;
+import com.eduplatform.model.Enrollment;
+import com.eduplatform.model.EnrollmentStatus;
+import com.eduplatform.repository.EnrollmentRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment Service for the enrollments collection
+ * Every write is an upsert or $max keyed by (userId, courseId), so the dual writes
+ * from the enrollment and progress paths and the backfill migration can run in any
+ * order and converge on the same document.
+ */
+@Service
+public class EnrollmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentService.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create the enrollment indexes at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(Enrollment.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("courseId", Sort.Direction.ASC)
+                    .unique()
+                    .named("user_course_idx"));
+            mongoTemplate.indexOps(Enrollment.class).ensureIndex(new Index()
+                    .on("courseId", Sort.Direction.ASC)
+                    .on("enrolledAt", Sort.Direction.DESC)
+                    .named("course_enrolled_idx"));
+        } catch (Exception e) {
+            logger.error("Could not ensure enrollment indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Record a new enrollment; a no-op if it already exists
+     * Two upserts racing on the unique key (e.g. with the migration) can both try to insert;
+     * the loser's duplicate key error means the document exists, which is the goal.
+     */
+    public void recordEnrollment(String userId, String courseId) {
+        try {
+            mongoTemplate.upsert(key(userId, courseId), newEnrollment(LocalDateTime.now()), Enrollment.class);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Enrollment of {} in {} was recorded concurrently", userId, courseId);
+        }
+    }
+
+    /**
+     * Record many enrollments in one bulkWrite
+     *
+     * @param coursesByUser userId -> course ids
+     */
+    public void recordEnrollments(Map<String, ? extends Collection<String>> coursesByUser) {
+        if (coursesByUser.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        coursesByUser.forEach((userId, courseIds) ->
+                courseIds.forEach(courseId -> upserts.add(Pair.of(key(userId, courseId), newEnrollment(now)))));
+        upsertAll(upserts);
+    }
+
+    /**
+     * Run upserts against the enrollments collection in one unordered bulkWrite
+     * An upsert that loses an insert race on the unique key fails with a duplicate key error while the
+     * others still apply; it is retried once, when it updates the document the other writer inserted.
+     */
+    public void upsertAll(List<Pair<Query, Update>> upserts) {
+        if (upserts.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class).upsert(upserts).execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+            for (BulkWriteError error : e.getErrors()) {
+                Pair<Query, Update> upsert = upserts.get(error.getIndex());
+                mongoTemplate.upsert(upsert.getFirst(), upsert.getSecond(), Enrollment.class);
+            }
+        }
+    }
+
+    /**
+     * Apply progress for many users in one bulkWrite
+     * Progress only moves forward; reaching 100 marks the enrollment completed once.
+     * Progress is upserted, so it is kept for users the backfill migration has not reached yet.
+     *
+     * @param progressByUser userId -> (courseId -> progress)
+     */
+    public void recordProgress(Map<String, ? extends Map<String, Double>> progressByUser) {
+        if (progressByUser.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        // Completions go in their own bulk so its modified count is the number of new completions
+        BulkOperations completions = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class);
+        boolean anyCompleted = false;
+        for (Map.Entry<String, ? extends Map<String, Double>> user : progressByUser.entrySet()) {
+            for (Map.Entry<String, Double> course : user.getValue().entrySet()) {
+                upserts.add(Pair.of(key(user.getKey(), course.getKey()), new Update()
+                        .setOnInsert("status", EnrollmentStatus.ACTIVE)
+                        .setOnInsert("enrolledAt", now)
+                        .max("progress", course.getValue())
+                        .set("updatedAt", now)));
+                if (course.getValue() >= 100.0) {
+                    completions.updateOne(key(user.getKey(), course.getKey())
+                                    .addCriteria(Criteria.where("status").is(EnrollmentStatus.ACTIVE)),
+                            new Update().set("status", EnrollmentStatus.COMPLETED).set("completedAt", now));
+                    anyCompleted = true;
+                }
+            }
+        }
+        upsertAll(upserts);
+        if (anyCompleted) {
+            int completed = completions.execute().getModifiedCount();
+            if (completed > 0) {
+                eventPublisher.publishEvent(new CompletionEvent(completed));
+            }
+        }
+    }
+
+    /**
+     * Get a user's enrollments ("my courses")
+     */
+    public Page<Enrollment> getUserEnrollments(String userId, Pageable pageable) {
+        return enrollmentRepository.findByUserId(userId, pageable);
+    }
+
+    /**
+     * Get a course roster
+     */
+    public Page<Enrollment> getCourseRoster(String courseId, Pageable pageable) {
+        return enrollmentRepository.findByCourseId(courseId, pageable);
+    }
+
+    private static Query key(String userId, String courseId) {
+        return Query.query(Criteria.where("userId").is(userId).and("courseId").is(courseId));
+    }
+
+    private static Update newEnrollment(LocalDateTime now) {
+        return new Update()
+                .setOnInsert("status", EnrollmentStatus.ACTIVE)
+                .setOnInsert("progress", 0.0)
+                .setOnInsert("enrolledAt", now)
+                .set("updatedAt", now);
+    }
+}
@@ -0,0 +1,156 @@
+package com.eduplatform.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password Hashing Service
+ * Runs BCrypt hashing and verification on a dedicated, bounded executor so login
+ * storms cannot occupy every request thread. When the queue is full, submissions
+ * fail fast with {@link RejectedExecutionException}.
+ *
+ * Work that follows a hash (saving the user, issuing a token) belongs on
+ * {@link #continuationExecutor()}, so the hashing threads only ever run BCrypt.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.password-hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${auth.password-hashing.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${auth.password-hashing.continuation-pool-size:0}")
+    private int continuationPoolSize;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int strength;
+
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor continuations;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Continuations block on Mongo, so they get more threads than the CPU-bound hashing pool
+        int continuationThreads = continuationPoolSize > 0 ? continuationPoolSize : threads * 2;
+        continuations = new ThreadPoolExecutor(continuationThreads, continuationThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity + threads), new HashingThreadFactory("password-continuation-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("auth.password.hash.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        matchTimer = Timer.builder("auth.password.hash.duration")
+                .tag("operation", "match")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        continuations.shutdown();
+    }
+
+    /**
+     * Executor for the work that follows a hash or verification
+     * Use it with thenApplyAsync/thenAcceptAsync; a rejected continuation completes the
+     * returned future with {@link RejectedExecutionException}.
+     */
+    public Executor continuationExecutor() {
+        return continuations;
+    }
+
+    /**
+     * Hash a raw password on the hashing executor
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Verify a raw password against its hash on the hashing executor
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Check whether a hash was produced with a different cost than the configured one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || !encodedPassword.startsWith("$2")) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private HashingThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.eduplatform.service;
+
+import com.eduplatform.model.User;
+import com.eduplatform.util.ExpiringCache;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress Ingestion Service
+ * Progress ticks are coalesced in memory per (user, course), keeping the highest value,
+ * and flushed periodically as one bulkWrite with a targeted $max on
+ * courseProgress.<courseId> per user, plus $addToSet on completedCourses at 100%.
+ * A student watching a lesson therefore costs one small update per flush interval
+ * instead of a full user rewrite per tick. Reads overlay values that are pending or
+ * being flushed, so a user always sees their own latest progress. The same $max is
+ * mirrored onto the enrollments collection after each flush. Ticks are only accepted
+ * for courses the user is enrolled in; a write MongoDB rejects is dropped rather than
+ * retried, so it cannot hold back everyone else's progress.
+ */
+@Service
+public class ProgressIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressIngestionService.class);
+
+    private static final double COMPLETE = 100.0;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${progress.ingestion.enrollment-cache-size:10000}")
+    private int enrollmentCacheSize;
+
+    @Value("${progress.ingestion.enrollment-cache-ttl-seconds:300}")
+    private long enrollmentCacheTtlSeconds;
+
+    // email + course id pairs known to be enrolled, so steady ticks skip the lookup
+    private ExpiringCache<String, Boolean> enrolled;
+
+    // email -> (courseId -> highest progress); a user's map is only changed inside compute()
+    private final Map<String, Map<String, Double>> pending = new ConcurrentHashMap<>();
+    // Taken from pending by a flush that has not finished yet
+    private final Map<String, Map<String, Double>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        enrolled = new ExpiringCache<>(enrollmentCacheSize);
+        Gauge.builder("progress.ingestion.pending", pending, Map::size)
+                .description("Users with coalesced progress waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a progress tick; only the highest value per user and course is kept
+     */
+    public void record(String email, String courseId, double progress) {
+        if (Double.isNaN(progress) || progress < 0 || progress > COMPLETE) {
+            throw new IllegalArgumentException("Progress must be between 0 and 100");
+        }
+        // The id becomes part of a field path, so "." or a leading "$" would change the update
+        if (courseId == null || courseId.isEmpty() || courseId.contains(".") || courseId.startsWith("$")) {
+            throw new IllegalArgumentException("Invalid course id: " + courseId);
+        }
+        if (!isEnrolled(email, courseId)) {
+            throw new IllegalArgumentException("Not enrolled in course: " + courseId);
+        }
+        pending.compute(email, (key, courses) -> {
+            Map<String, Double> updated = courses == null ? new HashMap<>() : courses;
+            updated.merge(courseId, progress, Math::max);
+            return updated;
+        });
+    }
+
+    /**
+     * Progress for a user, including values not yet written to MongoDB
+     * Overlays are read before the document: a value moves pending -> inFlight -> MongoDB,
+     * so reading in that order always sees it in at least one place.
+     */
+    public Map<String, Double> getCourseProgress(String email) {
+        Map<String, Double> progress = new HashMap<>();
+        pending.computeIfPresent(email, (key, courses) -> {
+            progress.putAll(courses);
+            return courses;
+        });
+        Map<String, Double> flushing = inFlight.get(email);
+        if (flushing != null) {
+            flushing.forEach((courseId, value) -> progress.merge(courseId, value, Math::max));
+        }
+
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("courseProgress");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null) {
+            throw new RuntimeException("User not found with email: " + email);
+        }
+        if (user.getCourseProgress() != null) {
+            user.getCourseProgress().forEach((courseId, value) -> progress.merge(courseId, value, Math::max));
+        }
+        return progress;
+    }
+
+    /**
+     * Write coalesced progress as one bulk update
+     */
+    @Scheduled(fixedDelayString = "${progress.ingestion.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Each user's map moves to inFlight atomically with its removal from pending
+        for (String email : pending.keySet()) {
+            pending.computeIfPresent(email, (key, courses) -> {
+                inFlight.put(key, courses);
+                return null;
+            });
+        }
+
+        List<String> emails = new ArrayList<>(inFlight.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        emails.forEach(email -> {
+            Map<String, Double> courses = inFlight.get(email);
+            Update update = new Update();
+            courses.forEach((courseId, value) -> {
+                update.max("courseProgress." + courseId, value);
+                if (value >= COMPLETE) {
+                    update.addToSet("completedCourses", courseId);
+                }
+            });
+            bulk.updateOne(Query.query(Criteria.where("email").is(email)), update);
+        });
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the rest was applied; a rejected write would fail again, so it is dropped
+            Set<String> rejected = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                rejected.add(emails.get(error.getIndex()));
+            }
+            logger.error("Dropping progress for {} of {} users rejected by MongoDB: {}",
+                    rejected.size(), emails.size(), e.getMessage());
+            inFlight.keySet().removeAll(rejected);
+        } catch (Exception e) {
+            // Merge back so the next flush retries; newer ticks win through max
+            logger.error("Progress flush for {} users failed: {}", inFlight.size(), e.getMessage());
+            reRecord();
+            inFlight.clear();
+            return;
+        }
+
+        try {
+            enrollmentService.recordProgress(byUserId(inFlight));
+        } catch (BulkOperationException e) {
+            logger.error("Dropping enrollment progress rejected by MongoDB: {}", e.getMessage());
+        } catch (Exception e) {
+            // $max makes writing the users side again harmless
+            logger.error("Enrollment progress for {} users failed, will retry: {}", inFlight.size(), e.getMessage());
+            reRecord();
+        }
+        inFlight.clear();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void reRecord() {
+        inFlight.forEach((email, courses) -> courses.forEach((courseId, value) ->
+                pending.compute(email, (key, current) -> {
+                    Map<String, Double> updated = current == null ? new HashMap<>() : current;
+                    updated.merge(courseId, value, Math::max);
+                    return updated;
+                })));
+    }
+
+    private boolean isEnrolled(String email, String courseId) {
+        String key = email + '\u0000' + courseId;
+        if (enrolled.get(key) != null) {
+            return true;
+        }
+        boolean found = mongoTemplate.exists(Query.query(Criteria.where("email").is(email)
+                .and("enrolledCourses").is(courseId)), User.class);
+        if (found) {
+            enrolled.put(key, Boolean.TRUE, TimeUnit.SECONDS.toNanos(enrollmentCacheTtlSeconds));
+        }
+        return found;
+    }
+
+    // Re-key flushed progress by user id for the enrollments collection, in one lookup
+    private Map<String, Map<String, Double>> byUserId(Map<String, Map<String, Double>> byEmail) {
+        Query query = Query.query(Criteria.where("email").in(byEmail.keySet()));
+        query.fields().include("_id").include("email");
+        Map<String, Map<String, Double>> byId = new HashMap<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            byId.put(user.getId(), byEmail.get(user.getEmail()));
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,301 @@
+package com.eduplatform.service;
+
+import com.eduplatform.event.CatalogVersions;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.Review;
+import com.eduplatform.model.User;
+import com.eduplatform.repository.ReviewRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Review Service
+ * Each course keeps a running ratingSum and ratingCount next to its rating. A review
+ * adjusts them in one atomic pipeline update (the delta of a replaced review, or +1 for
+ * a new one) that also recomputes the rating, so the stored rating is always current and
+ * top-rated listings sort on an indexed field. A periodic job re-derives the totals from
+ * the reviews collection to repair any drift.
+ */
+@Service
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reviews.reconcile.batch-size:500}")
+    private int reconcileBatchSize;
+
+    @Value("${reviews.reconcile.grace-seconds:60}")
+    private long reconcileGraceSeconds;
+
+    /**
+     * Create the review indexes at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(Review.class).ensureIndex(new Index()
+                    .on("courseId", Sort.Direction.ASC)
+                    .on("userId", Sort.Direction.ASC)
+                    .unique()
+                    .named("course_user_idx"));
+            mongoTemplate.indexOps(Review.class).ensureIndex(new Index()
+                    .on("courseId", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC)
+                    .named("course_recent_idx"));
+        } catch (Exception e) {
+            logger.error("Could not ensure review indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Submit or replace the current user's review of a course
+     *
+     * @return the course's updated rating and rating count
+     */
+    public Map<String, Object> submitReview(String courseId, String email, Review review) {
+        Query enrolled = Query.query(Criteria.where("email").is(email).and("enrolledCourses").is(courseId));
+        enrolled.fields().include("_id").include("name");
+        User user = mongoTemplate.findOne(enrolled, User.class);
+        if (user == null) {
+            throw new RuntimeException("You must be enrolled in this course to review it");
+        }
+
+        Review previous;
+        try {
+            previous = upsertReview(courseId, user, review);
+        } catch (DuplicateKeyException e) {
+            // A concurrent first submission inserted it; this one now replaces it
+            previous = upsertReview(courseId, user, review);
+        }
+
+        long sumDelta = previous == null ? review.getRating() : review.getRating() - previous.getRating();
+        int countDelta = previous == null ? 1 : 0;
+        Query course = Query.query(Criteria.where("_id").is(courseId));
+        course.fields().include("rating").include("ratingCount");
+        Course updated = mongoTemplate.findAndModify(course, ratingUpdate(sumDelta, countDelta, new Date()),
+                FindAndModifyOptions.options().returnNew(true), Course.class);
+        if (updated == null) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        if (sumDelta != 0 || countDelta != 0) {
+            catalogVersions.courseChanged(courseId);
+            eventPublisher.publishEvent(
+                    CourseMetricsEvent.rating(courseId, updated.getRating(), updated.getRatingCount()));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("courseId", courseId);
+        result.put("rating", review.getRating());
+        result.put("courseRating", updated.getRating());
+        result.put("ratingCount", updated.getRatingCount());
+        return result;
+    }
+
+    /**
+     * Get a course's reviews, newest first
+     */
+    public Page<Review> getReviews(String courseId, Pageable pageable) {
+        return reviewRepository.findByCourseId(courseId, pageable);
+    }
+
+    /**
+     * Re-derive rating totals from the reviews collection
+     * Totals are streamed per course and compared in batches; only courses that drifted
+     * are rewritten, and only if their totals did not change while the batch was read.
+     * A course whose reviews or totals changed within the grace period before the run
+     * started, or at any point since, is skipped until the next run: a submission may
+     * have been counted on one side and not yet on the other. Courses that still carry
+     * totals but have no reviews left are reset to zero.
+     */
+    @Scheduled(fixedDelayString = "${reviews.reconcile.interval-ms:3600000}",
+            initialDelayString = "${reviews.reconcile.initial-delay-ms:600000}")
+    public void reconcileRatings() {
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(reconcileGraceSeconds));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("courseId").sum("rating").as("ratingSum").count().as("ratingCount")
+                        .max("updatedAt").as("lastUpdated"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).cursorBatchSize(reconcileBatchSize).build());
+
+        int checked = 0;
+        int corrected = 0;
+        Set<String> reviewed = new HashSet<>();
+        Map<String, long[]> batch = new LinkedHashMap<>();
+        try (Stream<Document> totals = mongoTemplate.aggregateStream(aggregation, "reviews", Document.class)) {
+            Iterator<Document> cursor = totals.iterator();
+            while (cursor.hasNext()) {
+                Document total = cursor.next();
+                String courseId = total.getString("_id");
+                reviewed.add(courseId);
+                Date lastUpdated = total.getDate("lastUpdated");
+                if (lastUpdated != null && !lastUpdated.before(cutoff)) {
+                    continue;
+                }
+                batch.put(courseId, new long[] {
+                        ((Number) total.get("ratingSum")).longValue(), ((Number) total.get("ratingCount")).longValue()});
+                if (batch.size() >= reconcileBatchSize) {
+                    checked += batch.size();
+                    corrected += reconcileBatch(batch, cutoff);
+                    batch.clear();
+                }
+            }
+            checked += batch.size();
+            corrected += reconcileBatch(batch, cutoff);
+            batch.clear();
+
+            // Courses with totals but no reviews left
+            Query rated = Query.query(Criteria.where("ratingCount").gt(0));
+            rated.fields().include("_id");
+            try (Stream<Course> courses = mongoTemplate.stream(rated, Course.class)) {
+                Iterator<Course> ratedCursor = courses.iterator();
+                while (ratedCursor.hasNext()) {
+                    String courseId = ratedCursor.next().getId();
+                    if (reviewed.contains(courseId)) {
+                        continue;
+                    }
+                    batch.put(courseId, new long[] {0, 0});
+                    if (batch.size() >= reconcileBatchSize) {
+                        checked += batch.size();
+                        corrected += reconcileBatch(batch, cutoff);
+                        batch.clear();
+                    }
+                }
+            }
+            checked += batch.size();
+            corrected += reconcileBatch(batch, cutoff);
+        } catch (Exception e) {
+            logger.error("Rating reconciliation failed after {} courses: {}", checked, e.getMessage());
+            return;
+        }
+        if (corrected > 0) {
+            logger.warn("Rating reconciliation corrected {} of {} courses", corrected, checked);
+        }
+    }
+
+    private int reconcileBatch(Map<String, long[]> totals, Date cutoff) {
+        if (totals.isEmpty()) {
+            return 0;
+        }
+        Query current = Query.query(Criteria.where("_id").in(totals.keySet()).andOperator(settledSince(cutoff)));
+        current.fields().include("ratingSum").include("ratingCount");
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Course.class);
+        List<CourseMetricsEvent> drifted = new ArrayList<>();
+        for (Course course : mongoTemplate.find(current, Course.class)) {
+            long[] expected = totals.get(course.getId());
+            long sum = course.getRatingSum() == null ? 0 : course.getRatingSum();
+            long count = course.getRatingCount() == null ? 0 : course.getRatingCount();
+            if (expected[0] == sum && expected[1] == count) {
+                continue;
+            }
+            // A submission that lands after the read changes the totals or the timestamp and fails this filter
+            Query unchanged = Query.query(Criteria.where("_id").is(course.getId())
+                    .and("ratingSum").is(course.getRatingSum()).and("ratingCount").is(course.getRatingCount())
+                    .andOperator(settledSince(cutoff)));
+            double rating = expected[1] == 0 ? 0.0 : Math.round(expected[0] * 100.0 / expected[1]) / 100.0;
+            bulk.updateOne(unchanged, new Update()
+                    .set("ratingSum", expected[0])
+                    .set("ratingCount", (int) expected[1])
+                    .set("rating", rating));
+            drifted.add(CourseMetricsEvent.rating(course.getId(), rating, (int) expected[1]));
+        }
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        bulk.execute();
+        drifted.forEach(event -> {
+            catalogVersions.courseChanged(event.getCourseId());
+            eventPublisher.publishEvent(event);
+        });
+        return drifted.size();
+    }
+
+    // Totals not adjusted by a review since the cutoff
+    private static Criteria settledSince(Date cutoff) {
+        return new Criteria().orOperator(
+                Criteria.where("ratingUpdatedAt").exists(false),
+                Criteria.where("ratingUpdatedAt").lt(cutoff));
+    }
+
+    // Returns the review as it was before this submission, or null if it is new
+    private Review upsertReview(String courseId, User user, Review review) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("rating", review.getRating())
+                .set("comment", review.getComment())
+                .set("userName", user.getName())
+                .set("updatedAt", now)
+                .setOnInsert("createdAt", now);
+        Query key = Query.query(Criteria.where("courseId").is(courseId).and("userId").is(user.getId()));
+        key.fields().include("rating");
+        return mongoTemplate.findAndModify(key, update, FindAndModifyOptions.options().upsert(true), Review.class);
+    }
+
+    /**
+     * Adjust the running totals, stamp them and recompute the rating in one atomic update
+     * Each $set stage sees the output of the previous one.
+     */
+    private static AggregationUpdate ratingUpdate(long sumDelta, int countDelta, Date now) {
+        return AggregationUpdate.update()
+                .set("ratingUpdatedAt").toValue(now)
+                .set("ratingSum").toValue(ArithmeticOperators.Add
+                        .valueOf(ConditionalOperators.ifNull("ratingSum").then(0)).add(sumDelta))
+                .set("ratingCount").toValue(ArithmeticOperators.Add
+                        .valueOf(ConditionalOperators.ifNull("ratingCount").then(0)).add(countDelta))
+                .set("rating").toValue(ConditionalOperators
+                        .when(ComparisonOperators.Gt.valueOf("ratingCount").greaterThanValue(0))
+                        .then(ArithmeticOperators.Round.roundValueOf(
+                                ArithmeticOperators.Divide.valueOf("ratingSum").divideBy("ratingCount")).place(2))
+                        .otherwise(0.0));
+    }
+}
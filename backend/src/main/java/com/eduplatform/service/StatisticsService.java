@@ -0,0 +1,137 @@
+package com.eduplatform.service;
+
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.DashboardStatistics;
+import com.eduplatform.model.UserRole;
+import com.eduplatform.model.UserStatus;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics Service for the admin dashboard
+ * All course and user counts come from one $facet aggregation per collection, computed
+ * at most once per staleness window however many dashboards refresh. Collection sizes
+ * that need not be exact (enrollments, reviews) use estimatedDocumentCount, which reads
+ * collection metadata instead of scanning.
+ */
+@Service
+public class StatisticsService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${statistics.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    private volatile DashboardStatistics snapshot;
+    private volatile long computedAtMillis;
+
+    /**
+     * Current snapshot, recomputed when older than the staleness bound
+     */
+    public DashboardStatistics getSnapshot() {
+        DashboardStatistics current = snapshot;
+        if (current != null && System.currentTimeMillis() - computedAtMillis < maxStalenessMs) {
+            return current;
+        }
+        return refresh(false);
+    }
+
+    /**
+     * Snapshot recomputed now, regardless of the staleness bound
+     * For clients that apply live deltas on top and cannot start from an old baseline
+     */
+    public DashboardStatistics getFreshSnapshot() {
+        return refresh(true);
+    }
+
+    /**
+     * Course counts: totalCourses, publishedCourses, draftCourses, archivedCourses
+     */
+    public Map<String, Long> getCourseStatistics() {
+        return getSnapshot().getCourses();
+    }
+
+    /**
+     * User counts: totalUsers, per-role totals and activeUsers
+     */
+    public Map<String, Long> getUserStatistics() {
+        return getSnapshot().getUsers();
+    }
+
+    private synchronized DashboardStatistics refresh(boolean force) {
+        // Another caller may have refreshed while this one waited
+        DashboardStatistics current = snapshot;
+        if (!force && current != null && System.currentTimeMillis() - computedAtMillis < maxStalenessMs) {
+            return current;
+        }
+
+        Map<String, Map<String, Long>> courseCounts = countsBy("courses", "status");
+        Map<String, Long> byCourseStatus = courseCounts.get("status");
+        Map<String, Long> courses = new LinkedHashMap<>();
+        courses.put("totalCourses", sum(byCourseStatus));
+        courses.put("publishedCourses", byCourseStatus.getOrDefault(CourseStatus.PUBLISHED.name(), 0L));
+        courses.put("draftCourses", byCourseStatus.getOrDefault(CourseStatus.DRAFT.name(), 0L));
+        courses.put("archivedCourses", byCourseStatus.getOrDefault(CourseStatus.ARCHIVED.name(), 0L));
+        courses.put("totalEnrollments", mongoTemplate.estimatedCount("enrollments"));
+        courses.put("totalReviews", mongoTemplate.estimatedCount("reviews"));
+
+        Map<String, Map<String, Long>> userCounts = countsBy("users", "role", "status");
+        Map<String, Long> byRole = userCounts.get("role");
+        Map<String, Long> users = new LinkedHashMap<>();
+        users.put("totalUsers", sum(byRole));
+        users.put("totalStudents", byRole.getOrDefault(UserRole.STUDENT.name(), 0L));
+        users.put("totalInstructors", byRole.getOrDefault(UserRole.INSTRUCTOR.name(), 0L));
+        users.put("totalAdmins", byRole.getOrDefault(UserRole.ADMIN.name(), 0L));
+        users.put("activeUsers", userCounts.get("status").getOrDefault(UserStatus.ACTIVE.name(), 0L));
+
+        // Seeded from the clock so versions from an earlier process never repeat
+        long version = current == null ? System.currentTimeMillis() : current.getVersion();
+        if (current != null && (!courses.equals(current.getCourses()) || !users.equals(current.getUsers()))) {
+            version++;
+        }
+        snapshot = new DashboardStatistics(version, LocalDateTime.now(), courses, users);
+        computedAtMillis = System.currentTimeMillis();
+        return snapshot;
+    }
+
+    /**
+     * Count documents per value of each field in a single pass
+     *
+     * @return field -> (value -> count)
+     */
+    private Map<String, Map<String, Long>> countsBy(String collection, String... fields) {
+        FacetOperation facet = FacetOperation.EMPTY;
+        for (String field : fields) {
+            facet = facet.and(Aggregation.group(field).count().as("count")).as(field);
+        }
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(facet), collection, Document.class)
+                .getUniqueMappedResult();
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        for (String field : fields) {
+            Map<String, Long> values = new HashMap<>();
+            List<Document> groups = result == null ? List.of() : result.getList(field, Document.class, List.of());
+            for (Document group : groups) {
+                values.put(String.valueOf(group.get("_id")), ((Number) group.get("count")).longValue());
+            }
+            counts.put(field, values);
+        }
+        return counts;
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
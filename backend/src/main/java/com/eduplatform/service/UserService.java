@@ -1,13 +1,29 @@
 package com.eduplatform.service;
 
+import com.eduplatform.event.UserEvent;
 import com.eduplatform.model.User;
 import com.eduplatform.model.UserRole;
 import com.eduplatform.model.UserStatus;
+import com.eduplatform.repository.CursorPage;
+import com.eduplatform.repository.KeysetPager;
 import com.eduplatform.repository.UserRepository;
+import com.eduplatform.security.PrincipalCache;
+import com.eduplatform.security.TokenEpochRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +31,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * User Service for managing user operations
@@ -24,23 +42,70 @@ import java.util.HashMap;
 @Transactional
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private ProgressIngestionService progressIngestionService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create the listing index at startup
+     * Annotation-driven index creation is disabled; the admin cursor sorts on (createdAt, _id).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index()
+                    .on("createdAt", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named("created_recent_idx"));
+        } catch (Exception e) {
+            logger.error("Could not ensure user indexes: {}", e.getMessage());
+        }
+    }
 
     /**
      * Create a new user with encrypted password
+     * Hashing runs on the password hashing executor; saving runs on its continuation executor
      */
-    public User createUser(User user) {
+    public CompletableFuture<User> createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already exists: " + user.getEmail());
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        user.setStatus(UserStatus.ACTIVE);
-        return userRepository.save(user);
+        return passwordHashingService.encode(user.getPassword()).thenApplyAsync(encodedPassword -> {
+            user.setPassword(encodedPassword);
+            user.setStatus(UserStatus.ACTIVE);
+            User saved = userRepository.save(user);
+            eventPublisher.publishEvent(new UserEvent(UserEvent.Type.REGISTERED, saved));
+            return saved;
+        }, passwordHashingService.continuationExecutor());
     }
 
     /**
@@ -50,6 +115,13 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Find user principal fields (email, role, status) by email
+     */
+    public Optional<User> findPrincipalByEmail(String email) {
+        return userRepository.findPrincipalByEmail(email);
+    }
+
     /**
      * Get user by ID
      */
@@ -66,10 +138,27 @@ public class UserService {
             user.setBio(userDetails.getBio());
             user.setPhoneNumber(userDetails.getPhoneNumber());
             user.setAvatar(userDetails.getAvatar());
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            principalCache.invalidate(savedUser.getEmail());
+            return savedUser;
         }).orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    /**
+     * Change user role and revoke tokens carrying the old role
+     */
+    public User updateUserRole(String id, UserRole role) {
+        User updatedUser = userRepository.findById(id).map(user -> {
+            user.setRole(role);
+            User savedUser = userRepository.save(user);
+            principalCache.invalidate(savedUser.getEmail());
+            return savedUser;
+        }).orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+
+        revokeTokens(id);
+        return updatedUser;
+    }
+
     /**
      * Get all users with pagination
      */
@@ -77,6 +166,15 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of users after the cursor, newest first, without password hashes
+     */
+    public CursorPage<User> getAllUsers(String cursor, int size) {
+        Query query = new Query();
+        query.fields().exclude("password");
+        return keysetPager.find(query, User.class, User.class, "createdAt", Sort.Direction.DESC, cursor, size);
+    }
+
     /**
      * Get users by role
      */
@@ -102,62 +200,81 @@ public class UserService {
 
     /**
      * Enroll user in course
+     * A single conditional update: it only matches while the course is not yet in
+     * enrolledCourses, so concurrent requests cannot enroll twice.
+     *
+     * @return true if newly enrolled, false if the user was already enrolled
      */
-    public User enrollInCourse(String userId, String courseId) {
-        return userRepository.findById(userId).map(user -> {
-            if (user.getEnrolledCourses() != null && user.getEnrolledCourses().contains(courseId)) {
-                throw new RuntimeException("User already enrolled in this course");
-            }
-
-            if (user.getEnrolledCourses() == null) {
-                user.setEnrolledCourses(new java.util.ArrayList<>());
-            }
-            user.getEnrolledCourses().add(courseId);
+    public boolean enrollInCourse(String userId, String courseId) {
+        return enroll(Criteria.where("_id").is(userId), courseId, "User not found with id: " + userId);
+    }
 
-            if (user.getCourseProgress() == null) {
-                user.setCourseProgress(new HashMap<>());
-            }
-            user.getCourseProgress().put(courseId, 0.0);
+    /**
+     * Enroll the user with this email in a course, without loading the user first
+     *
+     * @return true if newly enrolled, false if the user was already enrolled
+     */
+    public boolean enrollInCourseByEmail(String email, String courseId) {
+        return enroll(Criteria.where("email").is(email), courseId, "User not found with email: " + email);
+    }
 
-            return userRepository.save(user);
-        }).orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    private boolean enroll(Criteria user, String courseId, String notFoundMessage) {
+        Query query = Query.query(user).addCriteria(Criteria.where("enrolledCourses").ne(courseId));
+        query.fields().include("_id");
+        Update update = new Update()
+                .addToSet("enrolledCourses", courseId)
+                .set("courseProgress." + courseId, 0.0);
+        User enrolled = mongoTemplate.findAndModify(query, update, User.class);
+        if (enrolled != null) {
+            enrollmentService.recordEnrollment(enrolled.getId(), courseId);
+            return true;
+        }
+        // Nothing matched: either already enrolled or no such user (only checked on this path)
+        if (!mongoTemplate.exists(Query.query(user), User.class)) {
+            throw new RuntimeException(notFoundMessage);
+        }
+        return false;
     }
 
     /**
      * Update course progress for user
+     * One targeted update; $max keeps progress from moving backwards
      */
     public User updateCourseProgress(String userId, String courseId, double progress) {
-        return userRepository.findById(userId).map(user -> {
-            if (user.getCourseProgress() == null) {
-                user.setCourseProgress(new HashMap<>());
-            }
-            user.getCourseProgress().put(courseId, progress);
-
-            // Mark course as completed if progress is 100%
-            if (progress >= 100.0) {
-                if (user.getCompletedCourses() == null) {
-                    user.setCompletedCourses(new java.util.ArrayList<>());
-                }
-                if (!user.getCompletedCourses().contains(courseId)) {
-                    user.getCompletedCourses().add(courseId);
-                }
-            }
+        Update update = new Update().max("courseProgress." + courseId, progress);
+        // Mark course as completed if progress is 100%
+        if (progress >= 100.0) {
+            update.addToSet("completedCourses", courseId);
+        }
+        User user = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(userId)), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (user == null) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        enrollmentService.recordProgress(Map.of(userId, Map.of(courseId, progress)));
+        return user;
+    }
 
-            return userRepository.save(user);
-        }).orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    /**
+     * Record a progress tick for the user with this email
+     * Coalesced in memory and written in batches by the progress ingestion service
+     */
+    public void recordCourseProgress(String email, String courseId, double progress) {
+        progressIngestionService.record(email, courseId, progress);
+    }
+
+    /**
+     * Course progress for the user with this email, including ticks not yet written
+     */
+    public Map<String, Double> getCourseProgress(String email) {
+        return progressIngestionService.getCourseProgress(email);
     }
 
     /**
      * Get user statistics
      */
     public Map<String, Object> getUserStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", userRepository.count());
-        stats.put("totalStudents", userRepository.countByRole(UserRole.STUDENT));
-        stats.put("totalInstructors", userRepository.countByRole(UserRole.INSTRUCTOR));
-        stats.put("totalAdmins", userRepository.countByRole(UserRole.ADMIN));
-        stats.put("activeUsers", userRepository.countByStatus(UserStatus.ACTIVE));
-        return stats;
+        return new HashMap<>(statisticsService.getUserStatistics());
     }
 
     /**
@@ -165,15 +282,56 @@ public class UserService {
      */
     public void deleteUser(String id) {
         userRepository.findById(id).map(user -> {
+            boolean wasActive = user.getStatus() == UserStatus.ACTIVE;
             user.setStatus(UserStatus.INACTIVE);
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            principalCache.invalidate(savedUser.getEmail());
+            if (wasActive) {
+                eventPublisher.publishEvent(new UserEvent(UserEvent.Type.DEACTIVATED, savedUser));
+            }
+            return savedUser;
         }).orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+
+        revokeTokens(id);
+    }
+
+    /**
+     * Bump the user's token epoch so previously issued stateless tokens are rejected
+     */
+    private void revokeTokens(String userId) {
+        Query query = Query.query(Criteria.where("id").is(userId));
+        query.fields().include("tokenEpoch");
+        User updated = mongoTemplate.findAndModify(query, new Update().inc("tokenEpoch", 1),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (updated != null) {
+            tokenEpochRegistry.update(userId, updated.getTokenEpoch());
+        }
     }
 
     /**
      * Validate password for authentication
+     * Verification runs on the password hashing executor
+     */
+    public CompletableFuture<Boolean> validatePassword(String rawPassword, String encodedPassword) {
+        return passwordHashingService.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Rehash password after a successful login if the configured BCrypt cost changed
      */
-    public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+    public void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword).thenAcceptAsync(encodedPassword ->
+                    mongoTemplate.updateFirst(
+                            Query.query(Criteria.where("id").is(user.getId())
+                                    .and("password").is(user.getPassword())),
+                            Update.update("password", encodedPassword),
+                            User.class), passwordHashingService.continuationExecutor());
+        } catch (RejectedExecutionException e) {
+            // Hashing executor is saturated; the rehash is retried on the next login
+        }
     }
 }
\ No newline at end of file
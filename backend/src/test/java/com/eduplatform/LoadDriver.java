@@ -0,0 +1,96 @@
+package com.eduplatform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load driver for load tests.
+ * A fixed number of clients each issue requests back to back until the total is reached;
+ * every request's latency is recorded so throughput and percentiles can be reported.
+ */
+public final class LoadDriver {
+
+    /**
+     * One request; the argument is the request number, unique across clients
+     */
+    @FunctionalInterface
+    public interface Request {
+        void run(int index) throws Exception;
+    }
+
+    private LoadDriver() {}
+
+    public static Result run(int clients, int requests, Request request) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int client = 0; client < clients; client++) {
+                workers.add(pool.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            request.run(index);
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(requests, System.nanoTime() - start, latencies, errors.get());
+    }
+
+    public static final class Result {
+        private final int requests;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+        private final int errors;
+
+        private Result(int requests, long elapsedNanos, long[] latencies, int errors) {
+            this.requests = requests;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(sortedLatencies);
+            this.errors = errors;
+        }
+
+        public double throughput() {
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        public double percentileMillis(double percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, rank)] / 1e6;
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        public int errors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %d ms: %.0f/s, p50 %.2f ms, p99 %.2f ms, %d errors",
+                    requests, elapsedMillis(), throughput(), percentileMillis(50), percentileMillis(99), errors);
+        }
+    }
+}
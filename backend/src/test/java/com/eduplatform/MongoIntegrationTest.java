@@ -0,0 +1,136 @@
+package com.eduplatform;
+
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.Enrollment;
+import com.eduplatform.model.User;
+import com.eduplatform.model.UserRole;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base for integration tests against MongoDB.
+ * One embedded mongod is started per test JVM and shared by every test context; set
+ * -Dtests.mongo.uri to run against an existing server instead. Documents are removed
+ * before each test, but collections and the indexes ensured at startup are kept.
+ * Scheduled flushes are pushed out of the way so tests decide when data is written.
+ * If mongod cannot be started the tests fail rather than pass silently; run with
+ * -DexcludedGroups=mongo to leave them out deliberately.
+ */
+@Tag("mongo")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "enrollment.counter.flush-interval-ms=3600000",
+        "progress.ingestion.flush-interval-ms=3600000",
+        "logging.level.org.springframework.data.mongodb=INFO"
+})
+public abstract class MongoIntegrationTest {
+
+    private static final String DATABASE = "eduplatform_test";
+
+    private static String mongoUri;
+    private static IllegalStateException startFailure;
+
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        ensureStarted();
+    }
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> mongoUri);
+        registry.add("spring.data.mongodb.database", () -> DATABASE);
+    }
+
+    @BeforeEach
+    void removeDocuments() {
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            mongoTemplate.remove(new Query(), collection);
+        }
+    }
+
+    /**
+     * A published course in the Programming category, not yet saved
+     */
+    protected static Course course(String id) {
+        Course course = new Course("Course " + id, "Description", "instructor-1", "Programming");
+        course.setId(id);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setIsPublished(true);
+        return course;
+    }
+
+    protected Course insertCourse(String id) {
+        return mongoTemplate.insert(course(id));
+    }
+
+    /**
+     * Insert a student enrolled in the given courses, with no progress yet
+     */
+    protected User insertUser(String id, String email, String... courseIds) {
+        User user = new User("Student " + id, email, "hash", UserRole.STUDENT);
+        user.setId(id);
+        user.setEnrolledCourses(new ArrayList<>(List.of(courseIds)));
+        Map<String, Double> progress = new HashMap<>();
+        for (String courseId : courseIds) {
+            progress.put(courseId, 0.0);
+        }
+        user.setCourseProgress(progress);
+        return mongoTemplate.insert(user);
+    }
+
+    protected int enrollmentCount(String courseId) {
+        return mongoTemplate.findById(courseId, Course.class).getEnrollmentCount();
+    }
+
+    protected Enrollment enrollment(String userId, String courseId) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("userId").is(userId).and("courseId").is(courseId)),
+                Enrollment.class);
+    }
+
+    private static synchronized void ensureStarted() {
+        if (mongoUri != null) {
+            return;
+        }
+        if (startFailure != null) {
+            throw startFailure;
+        }
+        String external = System.getProperty("tests.mongo.uri");
+        if (external != null && !external.isBlank()) {
+            mongoUri = external;
+            return;
+        }
+        try {
+            TransitionWalker.ReachedState<RunningMongodProcess> running = Mongod.instance().start(Version.Main.V6_0);
+            ServerAddress address = running.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/" + DATABASE;
+            Runtime.getRuntime().addShutdownHook(new Thread(running::close));
+        } catch (RuntimeException e) {
+            startFailure = new IllegalStateException("Embedded MongoDB could not be started; set -Dtests.mongo.uri "
+                    + "to use an existing server or -DexcludedGroups=mongo to skip these tests", e);
+            throw startFailure;
+        }
+    }
+}
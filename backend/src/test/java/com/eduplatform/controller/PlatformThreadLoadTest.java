@@ -0,0 +1,12 @@
+package com.eduplatform.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,89 @@
+package com.eduplatform.controller;
+
+import com.eduplatform.LoadDriver;
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.User;
+import com.eduplatform.security.JwtUtil;
+import com.eduplatform.service.EnrollmentCounterService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and p99 latency of the blocking servlet stack on /courses/public and
+ * /courses/{id}/enroll; subclasses pick platform or virtual request threads
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class ThreadModeLoadTest extends MongoIntegrationTest {
+
+    private static final int CLIENTS = 64;
+    private static final int CATALOG_REQUESTS = 4000;
+    private static final int STUDENTS = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EnrollmentCounterService enrollmentCounterService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Label for the printed results
+     */
+    abstract String mode();
+
+    @Test
+    void measuresCatalogAndEnrollmentUnderConcurrentLoad() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            insertCourse("course-" + i);
+        }
+        List<String> tokens = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            User student = insertUser("user-" + i, "student" + i + "@example.com");
+            tokens.add(jwtUtil.generateToken(student));
+        }
+
+        LoadDriver.Result catalog = LoadDriver.run(CLIENTS, CATALOG_REQUESTS, i ->
+                send(HttpRequest.newBuilder(uri("/courses/public?page=" + (i % 2) + "&size=10")).GET().build()));
+        LoadDriver.Result enroll = LoadDriver.run(CLIENTS, STUDENTS, i ->
+                send(HttpRequest.newBuilder(uri("/courses/course-0/enroll"))
+                        .header("Authorization", "Bearer " + tokens.get(i))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build()));
+
+        System.out.printf("%s GET /courses/public: %s%n", mode(), catalog);
+        System.out.printf("%s POST /courses/{id}/enroll: %s%n", mode(), enroll);
+
+        assertEquals(0, catalog.errors());
+        assertEquals(0, enroll.errors());
+        enrollmentCounterService.flush();
+        assertEquals(STUDENTS, enrollmentCount("course-0"));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api" + path);
+    }
+
+    private void send(HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+    }
+}
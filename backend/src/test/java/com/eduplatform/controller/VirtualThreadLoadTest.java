@@ -0,0 +1,16 @@
+package com.eduplatform.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+// Virtual threads need a Java 21 runtime (see the java21 profile)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,103 @@
+package com.eduplatform.repository;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import com.eduplatform.model.CourseSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPagerTest extends MongoIntegrationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private CourseQueryPlanner courseQueryPlanner;
+
+    @Test
+    void textFilterSlicesCoverEveryMatchOnceInOrder() {
+        // Pairs share a createdAt, so slices must break ties on _id
+        insertCourse("c01", "Java Basics", List.of(), BASE.plusDays(1), CourseStatus.PUBLISHED);
+        insertCourse("c02", "Cooking", List.of("java"), BASE.plusDays(1), CourseStatus.PUBLISHED);
+        insertCourse("c03", "Gardening", List.of("soil"), BASE.plusDays(2), CourseStatus.PUBLISHED);
+        insertCourse("c04", "Advanced JAVA", List.of(), BASE.plusDays(3), CourseStatus.PUBLISHED);
+        insertCourse("c05", "Java Streams", List.of(), BASE.plusDays(3), CourseStatus.PUBLISHED);
+        insertCourse("c06", "Java Drafts", List.of(), BASE.plusDays(4), CourseStatus.DRAFT);
+        insertCourse("c07", "Spring for Java", List.of(), BASE.plusDays(5), CourseStatus.PUBLISHED);
+        insertCourse("c08", "Painting", List.of(), BASE.plusDays(6), CourseStatus.PUBLISHED);
+        insertCourse("c09", "Java Testing", List.of(), BASE.plusDays(7), CourseStatus.PUBLISHED);
+
+        CourseSearchFilter filter = new CourseSearchFilter("java", null, null, null, null);
+
+        assertEquals(List.of("c09", "c07", "c05", "c04", "c02", "c01"), readAllSlices(filter, 2));
+        assertEquals(List.of("c09", "c07", "c05", "c04", "c02", "c01"), readAllSlices(filter, 4));
+    }
+
+    @Test
+    void textFilterCombinesWithStructuredFilters() {
+        insertCourse("c01", "Java Basics", List.of(), BASE.plusDays(1), CourseStatus.PUBLISHED);
+        insertCourse("c02", "Java for Data", List.of(), BASE.plusDays(2), CourseStatus.PUBLISHED, "Data Science");
+        insertCourse("c03", "Java Streams", List.of(), BASE.plusDays(3), CourseStatus.PUBLISHED);
+        insertCourse("c04", "Statistics", List.of(), BASE.plusDays(4), CourseStatus.PUBLISHED, "Data Science");
+
+        CourseSearchFilter filter = new CourseSearchFilter("java", "Programming", null, null, null);
+
+        assertEquals(List.of("c03", "c01"), readAllSlices(filter, 1));
+    }
+
+    @Test
+    void cursorForAnotherSortIsRejected() {
+        insertCourse("c01", "Java Basics", List.of(), BASE, CourseStatus.PUBLISHED);
+        insertCourse("c02", "Java Streams", List.of(), BASE.plusDays(1), CourseStatus.PUBLISHED);
+        CourseSearchFilter filter = new CourseSearchFilter("java", null, null, null, null);
+        CursorPage<CourseSummary> first = keysetPager.find(courseQueryPlanner.buildFilter(filter, null), Course.class,
+                CourseSummary.class, "createdAt", Sort.Direction.DESC, null, 1);
+        assertTrue(first.isHasNext());
+
+        assertThrows(IllegalArgumentException.class, () -> keysetPager.find(
+                courseQueryPlanner.buildFilter(filter, null), Course.class, CourseSummary.class,
+                "createdAt", Sort.Direction.ASC, first.getNextCursor(), 1));
+    }
+
+    private List<String> readAllSlices(CourseSearchFilter filter, int size) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<CourseSummary> slice = keysetPager.find(courseQueryPlanner.buildFilter(filter, null),
+                    Course.class, CourseSummary.class, "createdAt", Sort.Direction.DESC, cursor, size);
+            assertTrue(slice.getSize() <= size);
+            slice.getContent().forEach(course -> ids.add(course.getId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void insertCourse(String id, String title, List<String> skills, LocalDateTime createdAt,
+                              CourseStatus status) {
+        insertCourse(id, title, skills, createdAt, status, "Programming");
+    }
+
+    private void insertCourse(String id, String title, List<String> skills, LocalDateTime createdAt,
+                              CourseStatus status, String category) {
+        Course course = course(id);
+        course.setTitle(title);
+        course.setCategory(category);
+        course.setSkills(skills);
+        course.setStatus(status);
+        course.setIsPublished(status == CourseStatus.PUBLISHED);
+        course.setCreatedAt(createdAt);
+        mongoTemplate.insert(course);
+    }
+}
@@ -0,0 +1,51 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseLevel;
+import com.eduplatform.model.CourseStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CourseSearchIndexTest {
+
+    @Test
+    void countsAndDeepPagesAreNotCutOffAtMaxResults() {
+        CourseSearchIndex searchIndex = new CourseSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "maxResults", 3);
+        CourseFacetIndex facetIndex = new CourseFacetIndex();
+        for (int i = 0; i < 10; i++) {
+            Course course = course("c" + i, i % 2 == 0 ? CourseLevel.BEGINNER : CourseLevel.ADVANCED);
+            searchIndex.index(course);
+            facetIndex.onCourseEvent(new CourseEvent(CourseEvent.Type.PUBLISHED, course));
+        }
+
+        assertEquals(3, searchIndex.search("java").size());
+        Set<String> matches = searchIndex.matches("java");
+        assertEquals(10, matches.size());
+        assertEquals(10, facetIndex.count(matches, null, null, null, null).getTotal());
+        assertEquals(5, facetIndex.count(matches, null, CourseLevel.BEGINNER, null, null).getTotal());
+
+        List<String> ranked = searchIndex.search("java", Integer.MAX_VALUE);
+        assertEquals(10, ranked.size());
+        List<String> beginners = facetIndex.retain(ranked, "Programming", CourseLevel.BEGINNER, null, null);
+        assertEquals(5, beginners.size());
+        // Rank order survives the filter
+        assertEquals(ranked.stream().filter(beginners::contains).toList(), beginners);
+    }
+
+    private static Course course(String id, CourseLevel level) {
+        Course course = new Course("Java " + id, "Description", "instructor-1", "Programming");
+        course.setId(id);
+        course.setLevel(level);
+        course.setPrice(10.0);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setIsPublished(true);
+        return course;
+    }
+}
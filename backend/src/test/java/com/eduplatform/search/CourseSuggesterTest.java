@@ -0,0 +1,77 @@
+package com.eduplatform.search;
+
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseSuggesterTest {
+
+    private final CourseSuggester suggester = new CourseSuggester();
+
+    @Test
+    void heaviestPhrasesComeFirstWhereverTheyAreInTheRange() {
+        // Alphabetically last, most enrolled
+        publish("c1", "Java Zebra Patterns", 5000, List.of());
+        publish("c2", "Java Basics", 10, List.of("java"));
+        publish("c3", "Advanced Java", 100, List.of("java"));
+        for (int i = 0; i < 50; i++) {
+            publish("filler" + i, "Java Appendix " + i, 0, List.of());
+        }
+
+        // A phrase shared by two courses carries both weights
+        assertEquals(List.of("Java Zebra Patterns", "java", "Advanced Java"), texts(suggester.suggest("ja", 3)));
+        // Reachable from a later word start as well
+        assertEquals(List.of("Advanced Java"), texts(suggester.suggest("advanced j", 5)));
+    }
+
+    @Test
+    void weightsFollowEnrollmentChangesAndRemovals() {
+        publish("c1", "Python Basics", 10, List.of());
+        publish("c2", "Python Web", 20, List.of());
+
+        assertEquals(List.of("Python Web", "Python Basics"), texts(suggester.suggest("py", 5)));
+
+        suggester.onMetricsEvent(CourseMetricsEvent.enrollments("c1", 1000));
+        assertEquals(List.of("Python Basics", "Python Web"), texts(suggester.suggest("py", 5)));
+
+        Course archived = course("c1", "Python Basics", 1010, List.of());
+        archived.setStatus(CourseStatus.ARCHIVED);
+        suggester.onCourseEvent(new CourseEvent(CourseEvent.Type.ARCHIVED, archived));
+        assertEquals(List.of("Python Web"), texts(suggester.suggest("py", 5)));
+        assertTrue(suggester.suggest("basics", 5).isEmpty());
+    }
+
+    @Test
+    void prefixesLongerThanTheTrieDepthAreChecked() {
+        publish("c1", "Introduction to distributed systems design", 10, List.of());
+        publish("c2", "Introduction to distributed systems operations", 5, List.of());
+
+        assertEquals(List.of("Introduction to distributed systems operations"),
+                texts(suggester.suggest("introduction to distributed systems op", 5)));
+    }
+
+    private void publish(String id, String title, int enrollments, List<String> skills) {
+        suggester.onCourseEvent(new CourseEvent(CourseEvent.Type.PUBLISHED, course(id, title, enrollments, skills)));
+    }
+
+    private static Course course(String id, String title, int enrollments, List<String> skills) {
+        Course course = new Course(title, "Description", "instructor-1", "Programming");
+        course.setId(id);
+        course.setSkills(skills);
+        course.setEnrollmentCount(enrollments);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setIsPublished(true);
+        return course;
+    }
+
+    private static List<String> texts(List<CourseSuggester.Suggestion> suggestions) {
+        return suggestions.stream().map(CourseSuggester.Suggestion::getText).toList();
+    }
+}
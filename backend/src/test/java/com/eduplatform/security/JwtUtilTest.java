@@ -0,0 +1,84 @@
+package com.eduplatform.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final int TOKENS = 2000;
+    private static final int ROUNDS = 5;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKey12345678901234567890123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", TOKENS);
+        jwtUtil.init();
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromTheCache() {
+        String token = jwtUtil.generateToken("alice@example.com");
+
+        VerifiedToken first = jwtUtil.verifyToken(token);
+        assertEquals("alice@example.com", first.getSubject());
+        assertSame(first, jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    void tamperedTokenIsNotServedFromTheCache() {
+        String token = jwtUtil.generateToken("alice@example.com");
+        jwtUtil.verifyToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(tampered));
+    }
+
+    /**
+     * Cold verification parses and checks the HMAC signature; warm verification is a SHA-256 of the
+     * token plus a map lookup. Best-of-rounds timings keep JIT warm-up and GC pauses out of the comparison.
+     */
+    @Test
+    void cachedVerificationIsCheaperThanParsing() {
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(jwtUtil.generateToken("user" + i + "@example.com"));
+        }
+
+        long coldBest = Long.MAX_VALUE;
+        long warmBest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            // A fresh cache makes every verification in the first pass a miss
+            ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+            long start = System.nanoTime();
+            for (String token : tokens) {
+                jwtUtil.verifyToken(token);
+            }
+            coldBest = Math.min(coldBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (String token : tokens) {
+                jwtUtil.verifyToken(token);
+            }
+            warmBest = Math.min(warmBest, System.nanoTime() - start);
+        }
+
+        System.out.printf("verifyToken: %d ns/op uncached, %d ns/op cached%n",
+                coldBest / TOKENS, warmBest / TOKENS);
+        assertTrue(warmBest < coldBest,
+                "cached verification took " + warmBest + " ns, parsing took " + coldBest + " ns");
+    }
+}
@@ -0,0 +1,54 @@
+package com.eduplatform.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle();
+        ReflectionTestUtils.setField(loginThrottle, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginThrottle, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottle, "maxKeys", 3);
+        ReflectionTestUtils.setField(loginThrottle, "emailBurst", 2);
+        ReflectionTestUtils.setField(loginThrottle, "emailPerMinute", 1);
+        ReflectionTestUtils.setField(loginThrottle, "ipBurst", 4);
+        ReflectionTestUtils.setField(loginThrottle, "ipPerMinute", 1);
+        loginThrottle.init();
+    }
+
+    @Test
+    void rejectedEmailDoesNotSpendTheIpBudget() {
+        assertEquals(0, loginThrottle.tryAcquire("alice@example.com", "10.0.0.1"));
+        assertEquals(0, loginThrottle.tryAcquire("alice@example.com", "10.0.0.1"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(loginThrottle.tryAcquire("ALICE@example.com", "10.0.0.1") > 0);
+        }
+
+        // Two of the four IP attempts are left for other accounts
+        assertEquals(0, loginThrottle.tryAcquire("bob@example.com", "10.0.0.1"));
+        assertEquals(0, loginThrottle.tryAcquire("bob@example.com", "10.0.0.1"));
+        assertTrue(loginThrottle.tryAcquire("carol@example.com", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void fullEmailTableFallsBackToThrottlingByIp() {
+        // Fill the email table from other addresses
+        assertEquals(0, loginThrottle.tryAcquire("junk1@example.com", "10.0.0.1"));
+        assertEquals(0, loginThrottle.tryAcquire("junk2@example.com", "10.0.0.2"));
+        assertEquals(0, loginThrottle.tryAcquire("junk3@example.com", "10.0.0.3"));
+
+        // An untracked account is still held to the per-email rate, per client IP
+        assertEquals(0, loginThrottle.tryAcquire("victim@example.com", "10.0.0.9"));
+        assertEquals(0, loginThrottle.tryAcquire("victim@example.com", "10.0.0.9"));
+        assertTrue(loginThrottle.tryAcquire("victim@example.com", "10.0.0.9") > 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.event.CourseMetricsEvent;
+import com.eduplatform.model.CategoryStats;
+import com.eduplatform.model.Course;
+import com.eduplatform.search.PublishedCourseLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+class CategoryStatsServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @SpyBean
+    private PublishedCourseLoader publishedCourseLoader;
+
+    @AfterEach
+    void resetLoader() {
+        reset(publishedCourseLoader);
+    }
+
+    @Test
+    void eventsAroundTheScanAreCountedOnce() {
+        Course course = course("course-a");
+        course.setEnrollmentCount(10);
+        mongoTemplate.insert(course);
+        categoryStatsService.onCourseEvent(new CourseEvent(CourseEvent.Type.PUBLISHED, course));
+
+        doAnswer(invocation -> {
+            // Written before the scan reads the course, but delivered once reconciliation has started
+            enroll("course-a", 3);
+            invocation.callRealMethod();
+            // Written after the scan read the course
+            enroll("course-a", 2);
+            return null;
+        }).when(publishedCourseLoader).forEachPublished(any());
+
+        categoryStatsService.reconcile();
+
+        List<CategoryStats> stats = categoryStatsService.getCategoryStatistics();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.get(0).getCourseCount());
+        assertEquals(15, stats.get(0).getTotalEnrollments());
+    }
+
+    private void enroll(String courseId, long delta) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(courseId)),
+                new Update().inc("enrollmentCount", delta), Course.class);
+        categoryStatsService.onMetricsEvent(CourseMetricsEvent.enrollments(courseId, delta));
+    }
+}
@@ -0,0 +1,96 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.event.CourseEvent;
+import com.eduplatform.model.Course;
+import com.eduplatform.model.CourseStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RecordApplicationEvents
+class CourseServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void updateKeepsEnrollmentsCountedSinceTheCourseWasRead() {
+        insertDraft("course-a");
+        Course edited = mongoTemplate.findById("course-a", Course.class);
+        // An enrollment flush lands between the client's read and its update
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("course-a")),
+                new Update().inc("enrollmentCount", 3), Course.class);
+
+        edited.setTitle("Renamed");
+        edited.setSkills(List.of("java"));
+        Course updated = courseService.updateCourse("course-a", edited);
+
+        assertEquals("Renamed", updated.getTitle());
+        assertEquals(3, updated.getEnrollmentCount());
+        Course stored = mongoTemplate.findById("course-a", Course.class);
+        assertEquals("Renamed", stored.getTitle());
+        assertEquals(List.of("java"), stored.getSkills());
+        assertEquals(3, stored.getEnrollmentCount());
+    }
+
+    @Test
+    void statusChangesOnlyTouchTheStatus() {
+        insertDraft("course-a");
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("course-a")),
+                new Update().inc("enrollmentCount", 2), Course.class);
+
+        Course published = courseService.publishCourse("course-a");
+        assertEquals(CourseStatus.PUBLISHED, published.getStatus());
+        courseService.deleteCourse("course-a");
+
+        Course stored = mongoTemplate.findById("course-a", Course.class);
+        assertEquals(CourseStatus.ARCHIVED, stored.getStatus());
+        assertTrue(stored.getIsPublished());
+        assertEquals(2, stored.getEnrollmentCount());
+
+        List<CourseEvent> events = applicationEvents.stream(CourseEvent.class).toList();
+        assertEquals(2, events.size());
+        assertEquals(CourseStatus.DRAFT, events.get(0).getPreviousStatus());
+        assertEquals(CourseStatus.PUBLISHED, events.get(1).getPreviousStatus());
+        assertEquals(CourseStatus.ARCHIVED, events.get(1).getCourse().getStatus());
+    }
+
+    @Test
+    void editsDoNotOverwriteRatingsAppliedSinceTheCourseWasRead() {
+        insertDraft("course-a");
+        Course edited = mongoTemplate.findById("course-a", Course.class);
+        // A review lands between the client's read and its update
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("course-a")),
+                new Update().inc("ratingSum", 9).inc("ratingCount", 2).set("rating", 4.5), Course.class);
+
+        edited.setDescription("Edited");
+        courseService.updateCourse("course-a", edited);
+        courseService.publishCourse("course-a");
+
+        Course stored = mongoTemplate.findById("course-a", Course.class);
+        assertEquals("Edited", stored.getDescription());
+        assertEquals(9L, stored.getRatingSum());
+        assertEquals(2, stored.getRatingCount());
+        assertEquals(4.5, stored.getRating());
+    }
+
+    private void insertDraft(String id) {
+        Course course = course(id);
+        course.setStatus(CourseStatus.DRAFT);
+        course.setIsPublished(false);
+        mongoTemplate.insert(course);
+    }
+}
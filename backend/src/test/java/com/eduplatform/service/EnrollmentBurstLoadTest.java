@@ -0,0 +1,100 @@
+package com.eduplatform.service;
+
+import com.eduplatform.LoadDriver;
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.User;
+import com.eduplatform.model.UserRole;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Flash-enrollment burst: sustained enrollments per second on the synchronous path
+ * versus the write-behind queue, including the time to drain it into MongoDB
+ */
+@Tag("load")
+@TestPropertySource(properties = {
+        "enrollment.write-behind.enabled=true",
+        "enrollment.write-behind.flush-interval-ms=3600000"
+})
+class EnrollmentBurstLoadTest extends MongoIntegrationTest {
+
+    private static final int STUDENTS = 2000;
+    private static final int CLIENTS = 16;
+
+    @TempDir
+    static Path journalDir;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentCounterService enrollmentCounterService;
+
+    @Autowired
+    private EnrollmentQueueService enrollmentQueueService;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("enrollment.write-behind.journal", () -> journalDir.resolve("enrollment-journal.log").toString());
+    }
+
+    @Test
+    void measuresSynchronousAndWriteBehindEnrollmentRates() throws Exception {
+        insertCourse("course-sync");
+        insertCourse("course-queued");
+        insertStudents();
+
+        LoadDriver.Result sync = LoadDriver.run(CLIENTS, STUDENTS, i -> {
+            userService.enrollInCourseByEmail(email(i), "course-sync");
+            courseService.incrementEnrollment("course-sync");
+        });
+        enrollmentCounterService.flush();
+
+        long start = System.nanoTime();
+        LoadDriver.Result accepted = LoadDriver.run(CLIENTS, STUDENTS, i -> {
+            if (!enrollmentQueueService.submit(email(i), "course-queued")) {
+                throw new IllegalStateException("Queue full");
+            }
+        });
+        enrollmentQueueService.drain();
+        double queuedPerSecond = STUDENTS / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("synchronous: %s%n", sync);
+        System.out.printf("write-behind accepted: %s%n", accepted);
+        System.out.printf("write-behind sustained, including drain: %.0f enrollments/s%n", queuedPerSecond);
+
+        assertEquals(0, sync.errors());
+        assertEquals(0, accepted.errors());
+        assertEquals(STUDENTS, enrollmentCount("course-sync"));
+        assertEquals(STUDENTS, enrollmentCount("course-queued"));
+    }
+
+    private void insertStudents() {
+        List<User> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            User user = new User("Student " + i, email(i), "hash", UserRole.STUDENT);
+            user.setId("user-" + i);
+            user.setEnrolledCourses(new ArrayList<>());
+            students.add(user);
+        }
+        mongoTemplate.insertAll(students);
+    }
+
+    private static String email(int i) {
+        return "student" + i + "@example.com";
+    }
+}
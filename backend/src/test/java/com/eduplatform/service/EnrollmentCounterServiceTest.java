@@ -0,0 +1,67 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EnrollmentCounterServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private EnrollmentCounterService enrollmentCounterService;
+
+    @Test
+    void flushWritesConcurrentIncrementsExactlyOnce() throws Exception {
+        insertCourse("course-a");
+        insertCourse("course-b");
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int worker = 0; worker < 4; worker++) {
+                tasks.add(workers.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        enrollmentCounterService.increment("course-a");
+                        if (i % 5 == 0) {
+                            enrollmentCounterService.increment("course-b");
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        enrollmentCounterService.flush();
+        assertEquals(1000, enrollmentCount("course-a"));
+        assertEquals(200, enrollmentCount("course-b"));
+
+        // Written increments are subtracted, so another flush sends nothing
+        enrollmentCounterService.flush();
+        assertEquals(1000, enrollmentCount("course-a"));
+        assertEquals(200, enrollmentCount("course-b"));
+    }
+
+    @Test
+    void flushKeepsIncrementsMadeAfterIt() {
+        insertCourse("course-a");
+
+        enrollmentCounterService.increment("course-a");
+        enrollmentCounterService.flush();
+        enrollmentCounterService.increment("course-a");
+        enrollmentCounterService.increment("course-a");
+        enrollmentCounterService.flush();
+
+        assertEquals(3, enrollmentCount("course-a"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.Enrollment;
+import com.eduplatform.model.EnrollmentStatus;
+import com.eduplatform.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnrollmentMigrationServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private EnrollmentMigrationService enrollmentMigrationService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Test
+    void migrationConvergesWithEnrollmentsWrittenLive() {
+        User user = insertUser("user-alice", "alice@example.com", "course-a", "course-b");
+        user.setCompletedCourses(new ArrayList<>(List.of("course-b")));
+        user.setCourseProgress(Map.of("course-a", 40.0, "course-b", 100.0));
+        mongoTemplate.save(user);
+        // Written by the live path before the backfill reaches this user
+        enrollmentService.recordEnrollment("user-alice", "course-a");
+
+        enrollmentMigrationService.migrate();
+
+        Document checkpoint = mongoTemplate.findById("enrollments", Document.class, "migrations");
+        assertTrue(checkpoint.getBoolean("completed"));
+        assertEquals(40.0, enrollment("user-alice", "course-a").getProgress());
+        assertEquals(EnrollmentStatus.COMPLETED, enrollment("user-alice", "course-b").getStatus());
+        assertEquals(2, mongoTemplate.count(Query.query(Criteria.where("userId").is("user-alice")), Enrollment.class));
+    }
+
+    @Test
+    void progressIsKeptForUsersNotMigratedYet() {
+        enrollmentService.recordProgress(Map.of("user-bob", Map.of("course-a", 30.0)));
+        enrollmentService.recordProgress(Map.of("user-bob", Map.of("course-a", 100.0)));
+
+        Enrollment enrollment = enrollment("user-bob", "course-a");
+        assertEquals(100.0, enrollment.getProgress());
+        assertEquals(EnrollmentStatus.COMPLETED, enrollment.getStatus());
+    }
+
+}
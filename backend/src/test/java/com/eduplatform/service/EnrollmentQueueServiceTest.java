@@ -0,0 +1,92 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.Enrollment;
+import com.eduplatform.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+        "enrollment.write-behind.enabled=true",
+        "enrollment.write-behind.batch-size=2",
+        "enrollment.write-behind.flush-interval-ms=3600000"
+})
+class EnrollmentQueueServiceTest extends MongoIntegrationTest {
+
+    @TempDir
+    static Path journalDir;
+
+    @Autowired
+    private EnrollmentQueueService enrollmentQueueService;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("enrollment.write-behind.journal", () -> journalDir.resolve("enrollment-journal.log").toString());
+    }
+
+    @Test
+    void drainWritesUsersCountsAndEnrollmentRecords() throws Exception {
+        insertCourse("course-a");
+        insertCourse("course-b");
+        String alice = insertUser("user-alice", "alice@example.com").getId();
+        String bob = insertUser("user-bob", "bob@example.com").getId();
+
+        assertTrue(enrollmentQueueService.submit("alice@example.com", "course-a"));
+        assertTrue(enrollmentQueueService.submit("alice@example.com", "course-b"));
+        assertTrue(enrollmentQueueService.submit("bob@example.com", "course-a"));
+        // Duplicates and unknown users are accepted but must not be counted
+        assertTrue(enrollmentQueueService.submit("alice@example.com", "course-a"));
+        assertTrue(enrollmentQueueService.submit("nobody@example.com", "course-a"));
+
+        // Several batches of two in one drain
+        enrollmentQueueService.drain();
+
+        assertEquals(List.of("course-a", "course-b"), enrolledCourses(alice));
+        assertEquals(List.of("course-a"), enrolledCourses(bob));
+        assertEquals(2, enrollmentCount("course-a"));
+        assertEquals(1, enrollmentCount("course-b"));
+        assertEquals(1, enrollmentRecords(alice, "course-a"));
+        assertEquals(1, enrollmentRecords(alice, "course-b"));
+        assertEquals(1, enrollmentRecords(bob, "course-a"));
+
+        // Nothing outstanding, so the journal was truncated
+        assertEquals(0, Files.size(journalDir.resolve("enrollment-journal.log")));
+    }
+
+    @Test
+    void resubmittedEnrollmentIsNotCountedAgain() {
+        insertCourse("course-a");
+        String alice = insertUser("user-alice", "alice@example.com").getId();
+
+        assertTrue(enrollmentQueueService.submit("alice@example.com", "course-a"));
+        enrollmentQueueService.drain();
+        assertTrue(enrollmentQueueService.submit("alice@example.com", "course-a"));
+        enrollmentQueueService.drain();
+
+        assertEquals(List.of("course-a"), enrolledCourses(alice));
+        assertEquals(1, enrollmentCount("course-a"));
+        assertEquals(1, enrollmentRecords(alice, "course-a"));
+    }
+
+    private List<String> enrolledCourses(String userId) {
+        return mongoTemplate.findById(userId, User.class).getEnrolledCourses();
+    }
+
+    private long enrollmentRecords(String userId, String courseId) {
+        return mongoTemplate.count(Query.query(Criteria.where("userId").is(userId).and("courseId").is(courseId)),
+                Enrollment.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.eduplatform.service;
+
+import com.eduplatform.MongoIntegrationTest;
+import com.eduplatform.model.EnrollmentStatus;
+import com.eduplatform.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgressIngestionServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ProgressIngestionService progressIngestionService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Test
+    void ticksAreCoalescedToTheHighestValue() {
+        insertEnrolledUser("user-alice", "alice@example.com", "course-a", "course-b");
+
+        progressIngestionService.record("alice@example.com", "course-a", 30.0);
+        progressIngestionService.record("alice@example.com", "course-a", 70.0);
+        progressIngestionService.record("alice@example.com", "course-a", 50.0);
+        progressIngestionService.record("alice@example.com", "course-b", 10.0);
+
+        // Visible before the flush through the pending overlay
+        assertEquals(70.0, progressIngestionService.getCourseProgress("alice@example.com").get("course-a"));
+
+        progressIngestionService.flush();
+
+        User user = mongoTemplate.findById("user-alice", User.class);
+        assertEquals(70.0, user.getCourseProgress().get("course-a"));
+        assertEquals(10.0, user.getCourseProgress().get("course-b"));
+        assertEquals(70.0, enrollment("user-alice", "course-a").getProgress());
+        assertEquals(10.0, enrollment("user-alice", "course-b").getProgress());
+    }
+
+    @Test
+    void progressNeverMovesBackwards() {
+        insertEnrolledUser("user-alice", "alice@example.com", "course-a");
+
+        progressIngestionService.record("alice@example.com", "course-a", 80.0);
+        progressIngestionService.flush();
+        progressIngestionService.record("alice@example.com", "course-a", 20.0);
+        progressIngestionService.flush();
+
+        assertEquals(80.0, mongoTemplate.findById("user-alice", User.class).getCourseProgress().get("course-a"));
+        assertEquals(80.0, enrollment("user-alice", "course-a").getProgress());
+    }
+
+    @Test
+    void reachingOneHundredCompletesTheCourse() {
+        insertEnrolledUser("user-alice", "alice@example.com", "course-a");
+
+        progressIngestionService.record("alice@example.com", "course-a", 100.0);
+        progressIngestionService.flush();
+
+        User user = mongoTemplate.findById("user-alice", User.class);
+        assertTrue(user.getCompletedCourses().contains("course-a"));
+        assertEquals(EnrollmentStatus.COMPLETED, enrollment("user-alice", "course-a").getStatus());
+    }
+
+    @Test
+    void invalidTicksAreRejectedBeforeTheyAreQueued() {
+        // Enrollment checks are cached per email, so this user is not shared with other tests
+        insertEnrolledUser("user-dave", "dave@example.com", "course-a");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> progressIngestionService.record("dave@example.com", "course-b", 10.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> progressIngestionService.record("dave@example.com", "course.a", 10.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> progressIngestionService.record("dave@example.com", "$course", 10.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> progressIngestionService.record("dave@example.com", "course-a", 101.0));
+
+        progressIngestionService.flush();
+        assertNull(mongoTemplate.findById("user-dave", User.class).getCourseProgress().get("course-b"));
+    }
+
+    private void insertEnrolledUser(String id, String email, String... courseIds) {
+        insertUser(id, email, courseIds);
+        for (String courseId : courseIds) {
+            enrollmentService.recordEnrollment(id, courseId);
+        }
+    }
+}
@@ -1,8 +1,64 @@
-import React from 'react';
+import React, { useState, useEffect } from 'react';
 import { useAuth } from '../contexts/AuthContext';
+import { statisticsService } from '../services/statisticsService';
+
+const REFRESH_INTERVAL_MS = 30000;
+
+const formatCount = (value) => (value === undefined || value === null ? '—' : value.toLocaleString());
+
+// Fold a streamed delta into the snapshot counts
+// Deltas use the snapshot's keys; only counts the snapshot already has are adjusted
+const applySection = (section, changes) => {
+  const next = { ...section };
+  Object.entries(changes || {}).forEach(([key, change]) => {
+    if (typeof next[key] === 'number') next[key] += change;
+  });
+  return next;
+};
+
+const applyDelta = (stats, delta) => ({
+  ...stats,
+  courses: applySection(stats.courses, delta.courses),
+  users: applySection(stats.users, delta.users),
+});
 
 const AdminDashboard = () => {
   const { user } = useAuth();
+  const [stats, setStats] = useState({ courses: {}, users: {} });
+
+  useEffect(() => {
+    let cancelled = false;
+    let timer = null;
+    const fetchStats = () => {
+      // Unchanged snapshots are revalidated with the ETag and answered with 304
+      statisticsService.getDashboardStatistics()
+        .then((response) => {
+          if (!cancelled && response) setStats(response);
+        })
+        .catch((error) => console.error('Error fetching statistics:', error));
+    };
+    fetchStats();
+    // Live deltas replace polling; polling only resumes while the stream is down
+    const stopStream = statisticsService.streamDashboard({
+      onSnapshot: (snapshot) => {
+        clearInterval(timer);
+        timer = null;
+        if (!cancelled) setStats(snapshot);
+      },
+      onDelta: (delta) => {
+        if (!cancelled) setStats((current) => applyDelta(current, delta));
+      },
+      onError: (error) => {
+        console.error('Dashboard stream error:', error);
+        if (!timer) timer = setInterval(fetchStats, REFRESH_INTERVAL_MS);
+      },
+    });
+    return () => {
+      cancelled = true;
+      clearInterval(timer);
+      stopStream();
+    };
+  }, []);
 
   return (
     <div className="min-h-screen bg-gray-50 py-8">
@@ -26,7 +82,7 @@ const AdminDashboard = () => {
               </div>
               <div className="ml-4">
                 <p className="text-sm font-medium text-gray-600">Total Users</p>
-                <p className="text-2xl font-semibold text-gray-900">1,247</p>
+                <p className="text-2xl font-semibold text-gray-900">{formatCount(stats.users.totalUsers)}</p>
               </div>
             </div>
           </div>
@@ -42,7 +98,7 @@ const AdminDashboard = () => {
               </div>
               <div className="ml-4">
                 <p className="text-sm font-medium text-gray-600">Total Courses</p>
-                <p className="text-2xl font-semibold text-gray-900">89</p>
+                <p className="text-2xl font-semibold text-gray-900">{formatCount(stats.courses.totalCourses)}</p>
               </div>
             </div>
           </div>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef, useCallback } from 'react';
 import { Link } from 'react-router-dom';
 import { courseService } from '../services/courseService';
 import Loading from '../components/Common/Loading';
@@ -9,27 +9,52 @@ const Courses = () => {
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedCategory, setSelectedCategory] = useState('');
   const [selectedLevel, setSelectedLevel] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const loadMoreRef = useRef(null);
 
   const categories = ['Programming', 'Web Development', 'Data Science', 'Mobile Development', 'DevOps'];
   const levels = ['beginner', 'intermediate', 'advanced'];
+  const pageSize = 12;
 
   useEffect(() => {
     fetchCourses();
   }, [searchTerm, selectedCategory, selectedLevel]);
 
+  useEffect(() => {
+    if (!searchTerm.trim()) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    courseService.suggestCourses(searchTerm)
+      .then((response) => {
+        if (!cancelled) setSuggestions(response || []);
+      })
+      .catch(() => {
+        if (!cancelled) setSuggestions([]);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [searchTerm]);
+
+  const searchParams = (cursor) => ({
+    q: searchTerm,
+    category: selectedCategory,
+    level: selectedLevel,
+    size: pageSize,
+    cursor
+  });
+
   const fetchCourses = async () => {
     try {
       setLoading(true);
-      const params = {
-        q: searchTerm,
-        category: selectedCategory,
-        level: selectedLevel,
-        page: 0,
-        size: 20
-      };
-
-      const response = await courseService.searchCourses(params);
+      // An empty cursor requests the first slice; later slices cost the same however deep
+      const response = await courseService.searchCourses(searchParams(''));
       setCourses(response.content || []);
+      setNextCursor(response.nextCursor || null);
     } catch (error) {
       console.error('Error fetching courses:', error);
     } finally {
@@ -37,6 +62,37 @@ const Courses = () => {
     }
   };
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor || loadingMore) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      const response = await courseService.searchCourses(searchParams(nextCursor));
+      setCourses((current) => [...current, ...(response.content || [])]);
+      setNextCursor(response.nextCursor || null);
+    } catch (error) {
+      console.error('Error loading more courses:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [nextCursor, loadingMore, searchTerm, selectedCategory, selectedLevel]);
+
+  // Load the next slice when the sentinel below the grid scrolls into view
+  useEffect(() => {
+    const sentinel = loadMoreRef.current;
+    if (!sentinel || !nextCursor || typeof IntersectionObserver === 'undefined') {
+      return undefined;
+    }
+    const observer = new IntersectionObserver((entries) => {
+      if (entries[0].isIntersecting) {
+        loadMore();
+      }
+    }, { rootMargin: '200px' });
+    observer.observe(sentinel);
+    return () => observer.disconnect();
+  }, [nextCursor, loadMore]);
+
   const CourseCard = ({ course }) => (
     <div className="bg-white rounded-lg shadow-md overflow-hidden hover:shadow-lg transition-shadow">
       <img
@@ -54,9 +110,12 @@ const Courses = () => {
         <h3 className="mt-2 text-lg font-semibold text-gray-900 line-clamp-2">
           {course.title}
         </h3>
-        <p className="mt-2 text-sm text-gray-600 line-clamp-3">
-          {course.description}
-        </p>
+        {/* Listings carry a summary without the description; show skills instead */}
+        {course.skills && course.skills.length > 0 && (
+          <p className="mt-2 text-sm text-gray-600 line-clamp-3">
+            {course.skills.join(' · ')}
+          </p>
+        )}
         <div className="mt-4 flex items-center justify-between">
           <div className="flex items-center">
             <span className="text-sm text-gray-500">By {course.instructorName}</span>
@@ -108,8 +167,14 @@ const Courses = () => {
                 placeholder="Search courses..."
                 value={searchTerm}
                 onChange={(e) => setSearchTerm(e.target.value)}
+                list="course-suggestions"
                 className="w-full px-4 py-2 border border-gray-300 rounded-md focus:ring-blue-500 focus:border-blue-500"
               />
+              <datalist id="course-suggestions">
+                {suggestions.map((suggestion) => (
+                  <option key={`${suggestion.type}-${suggestion.text}`} value={suggestion.text} />
+                ))}
+              </datalist>
             </div>
             <div>
               <select
@@ -154,6 +219,18 @@ const Courses = () => {
             )}
           </div>
         )}
+
+        {!loading && nextCursor && (
+          <div ref={loadMoreRef} className="mt-8 text-center">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="bg-white border border-gray-300 hover:bg-gray-50 text-gray-700 font-medium py-2 px-6 rounded-md text-sm disabled:opacity-50"
+            >
+              {loadingMore ? 'Loading...' : 'Load more courses'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -1,9 +1,56 @@
-import React from 'react';
+import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
+import { courseService } from '../services/courseService';
+
+const FeaturedSection = ({ title, courses }) => (
+  <div className="mt-10">
+    <h3 className="text-2xl font-extrabold text-gray-900">{title}</h3>
+    <div className="mt-6 grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
+      {courses.map((course) => (
+        <Link
+          key={course.id}
+          to={`/courses/${course.id}`}
+          className="bg-white rounded-lg shadow-md hover:shadow-lg transition-shadow p-6 block"
+        >
+          <span className="inline-flex items-center px-2.5 py-0.5 rounded-full text-xs font-medium bg-blue-100 text-blue-800">
+            {course.category}
+          </span>
+          <p className="mt-2 text-lg font-semibold text-gray-900 line-clamp-2">{course.title}</p>
+          <p className="mt-1 text-sm text-gray-500">By {course.instructorName}</p>
+          <div className="mt-4 flex items-center justify-between text-sm text-gray-600">
+            <span>
+              {course.rating || 0} ★{course.ratingCount ? ` (${course.ratingCount})` : ''}
+            </span>
+            <span>{course.enrollmentCount || 0} students</span>
+          </div>
+        </Link>
+      ))}
+    </div>
+  </div>
+);
 
 const Home = () => {
   const { isAuthenticated } = useAuth();
+  const [leaderboards, setLeaderboards] = useState({ topRated: [], mostEnrolled: [] });
+
+  useEffect(() => {
+    let cancelled = false;
+    // Served from in-memory leaderboards, so the homepage never sorts the catalog
+    courseService.getLeaderboards()
+      .then((response) => {
+        if (!cancelled && response) {
+          setLeaderboards({
+            topRated: response.topRated || [],
+            mostEnrolled: response.mostEnrolled || []
+          });
+        }
+      })
+      .catch((error) => console.error('Error fetching featured courses:', error));
+    return () => {
+      cancelled = true;
+    };
+  }, []);
 
   return (
     <div className="bg-white">
@@ -119,6 +166,20 @@ const Home = () => {
         </div>
       </div>
 
+      {/* Featured Courses */}
+      {(leaderboards.topRated.length > 0 || leaderboards.mostEnrolled.length > 0) && (
+        <div className="py-12 bg-gray-50">
+          <div className="max-w-7xl mx-auto px-4 sm:px-6 lg:px-8">
+            {leaderboards.topRated.length > 0 && (
+              <FeaturedSection title="Top Rated Courses" courses={leaderboards.topRated} />
+            )}
+            {leaderboards.mostEnrolled.length > 0 && (
+              <FeaturedSection title="Most Popular Courses" courses={leaderboards.mostEnrolled} />
+            )}
+          </div>
+        </div>
+      )}
+
       {/* CTA Section */}
       <div className="bg-blue-700">
         <div className="max-w-2xl mx-auto text-center py-16 px-4 sm:py-20 sm:px-6 lg:px-8">
@@ -1,8 +1,55 @@
-import React from 'react';
+import React, { useState, useEffect } from 'react';
 import { useAuth } from '../contexts/AuthContext';
+import { courseService } from '../services/courseService';
+import { statisticsService } from '../services/statisticsService';
 
 const InstructorDashboard = () => {
   const { user } = useAuth();
+  const [enrollments, setEnrollments] = useState({});
+
+  useEffect(() => {
+    if (!user?.id) {
+      return undefined;
+    }
+    let cancelled = false;
+    const loadCourses = () => {
+      courseService.getCoursesByInstructor(user.id, { size: 100 })
+        .then((response) => {
+          if (cancelled) return;
+          const counts = {};
+          (response?.content || []).forEach((course) => {
+            counts[course.id] = course.enrollmentCount || 0;
+          });
+          setEnrollments(counts);
+        })
+        .catch((error) => console.error('Error fetching instructor courses:', error));
+    };
+    // Each (re)connect reloads the baseline, then only this instructor's course deltas are applied
+    const stopStream = statisticsService.streamDashboard({
+      onSnapshot: loadCourses,
+      onDelta: (delta) => {
+        if (cancelled) return;
+        setEnrollments((current) => {
+          const changes = Object.entries(delta.courseEnrollments || {})
+            .filter(([courseId]) => courseId in current);
+          if (changes.length === 0) return current;
+          const next = { ...current };
+          changes.forEach(([courseId, change]) => {
+            next[courseId] += change;
+          });
+          return next;
+        });
+      },
+      onError: (error) => console.error('Dashboard stream error:', error),
+    });
+    loadCourses();
+    return () => {
+      cancelled = true;
+      stopStream();
+    };
+  }, [user?.id]);
+
+  const totalStudents = Object.values(enrollments).reduce((sum, count) => sum + count, 0);
 
   return (
     <div className="min-h-screen bg-gray-50 py-8">
@@ -44,7 +91,7 @@ const InstructorDashboard = () => {
               </div>
               <div className="ml-4">
                 <p className="text-sm font-medium text-gray-600">Total Students</p>
-                <p className="text-2xl font-semibold text-gray-900">0</p>
+                <p className="text-2xl font-semibold text-gray-900">{totalStudents.toLocaleString()}</p>
               </div>
             </div>
           </div>
@@ -16,6 +16,23 @@ export const courseService = {
     return response;
   },
 
+  // Typeahead suggestions for the search box
+  suggestCourses: async (prefix, limit = 8) => {
+    const response = await api.get('/courses/public/suggest', {
+      params: { prefix, limit }
+    });
+    return response;
+  },
+
+  // Top-rated and most-enrolled courses for the featured sections
+  getLeaderboards: async (params = {}) => {
+    const { category = '', limit = 6 } = params;
+    const response = await api.get('/courses/public/leaderboards', {
+      params: { category, limit }
+    });
+    return response;
+  },
+
   // Get course by ID
   getCourseById: async (id) => {
     const response = await api.get(`/courses/${id}`);
@@ -40,6 +57,39 @@ export const courseService = {
     return response;
   },
 
+  // Report lesson progress (0-100); coalesced on the server
+  reportProgress: async (courseId, progress) => {
+    const response = await api.post(`/courses/${courseId}/progress`, { progress });
+    return response;
+  },
+
+  // Get an instructor's courses, newest first
+  getCoursesByInstructor: async (instructorId, params = {}) => {
+    const { cursor = '', size = 10 } = params;
+    const response = await api.get(`/courses/instructor/${instructorId}`, {
+      params: { cursor, size }
+    });
+    return response;
+  },
+
+  // Get the current user's progress per course
+  getMyProgress: async () => {
+    const response = await api.get('/courses/progress');
+    return response;
+  },
+
+  // Rate and review a course; resolves to the course's updated rating
+  submitReview: async (courseId, review) => {
+    const response = await api.post(`/courses/${courseId}/reviews`, review);
+    return response;
+  },
+
+  // Get course reviews, newest first
+  getReviews: async (courseId, params = {}) => {
+    const response = await api.get(`/courses/${courseId}/reviews`, { params });
+    return response;
+  },
+
   // Publish course
   publishCourse: async (courseId) => {
     const response = await api.post(`/courses/${courseId}/publish`);
@@ -51,6 +101,12 @@ export const courseService = {
     const response = await api.get('/courses/statistics');
     return response;
   },
+
+  // Get per-category statistics
+  getCategoryStatistics: async () => {
+    const response = await api.get('/courses/statistics/categories');
+    return response;
+  },
 };
 
 export const quizService = {
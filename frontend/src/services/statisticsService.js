@@ -0,0 +1,85 @@
+import api from './api';
+
+const API_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+const RECONNECT_DELAY_MS = 5000;
+
+// Split a server-sent events buffer into complete events; the unfinished tail is returned
+const parseEvents = (buffer, onEvent) => {
+  const blocks = buffer.split(/\r?\n\r?\n/);
+  const rest = blocks.pop();
+  blocks.forEach((block) => {
+    let event = 'message';
+    const data = [];
+    block.split(/\r?\n/).forEach((line) => {
+      if (line.startsWith('event:')) event = line.slice(6).trim();
+      else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+    });
+    // Comment-only blocks are heartbeats
+    if (data.length > 0) {
+      try {
+        onEvent(event, JSON.parse(data.join('\n')));
+      } catch (error) {
+        console.error('Malformed dashboard event:', error);
+      }
+    }
+  });
+  return rest;
+};
+
+export const statisticsService = {
+  // Dashboard snapshot: course and user counts, recomputed at most every few seconds
+  getDashboardStatistics: async () => {
+    const response = await api.get('/statistics/dashboard');
+    return response;
+  },
+
+  // Live dashboard stream: onSnapshot with the current counts, then onDelta with merged changes.
+  // EventSource cannot send the Authorization header, so the stream is read with fetch.
+  // Reconnects after a drop (a fresh snapshot resynchronises); returns a function that stops it.
+  streamDashboard: ({ onSnapshot, onDelta, onError }) => {
+    let stopped = false;
+    let controller = null;
+    let retryTimer = null;
+
+    const connect = async () => {
+      controller = new AbortController();
+      try {
+        const token = localStorage.getItem('auth_token');
+        const response = await fetch(`${API_URL}/statistics/stream`, {
+          headers: {
+            Accept: 'text/event-stream',
+            ...(token ? { Authorization: `Bearer ${token}` } : {}),
+          },
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`Dashboard stream unavailable (${response.status})`);
+        }
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer = parseEvents(buffer + decoder.decode(value, { stream: true }), (event, payload) => {
+            if (event === 'snapshot' && onSnapshot) onSnapshot(payload);
+            else if (event === 'delta' && onDelta) onDelta(payload);
+          });
+        }
+      } catch (error) {
+        if (stopped) return;
+        if (onError) onError(error);
+      }
+      if (!stopped) {
+        retryTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+      }
+    };
+
+    connect();
+    return () => {
+      stopped = true;
+      clearTimeout(retryTimer);
+      if (controller) controller.abort();
+    };
+  },
+};